@@ -0,0 +1,83 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.assessment.githubrepositorysearcher.GithubRepositorySearcherApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Application context on an embedded H2 database seeded with benchmark rows
+ */
+final class BenchmarkDatabase {
+
+    private static final String[] LANGUAGES = {
+            "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust", "C++", "C#", "Kotlin", "Ruby"};
+    private static final int BATCH_SIZE = 5_000;
+    private static final String INSERT_SQL = "INSERT INTO repositories "
+            + "(id, name, description, owner, language, stars, forks, last_updated, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Start the application context without a web server and seed the table
+     * The second-level cache stays off, so the measured reads go to the database
+     */
+    static ConfigurableApplicationContext start(int rows) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GithubRepositorySearcherApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--spring.flyway.enabled=false");
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    /**
+     * Insert the benchmark rows with a fixed seed so every run sees the same data
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        LocalDateTime base = LocalDateTime.of(2025, 7, 8, 0, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (long id = 1; id <= rows; id++) {
+            batch.add(new Object[]{
+                    id,
+                    "repo-" + id,
+                    "Benchmark repository " + id,
+                    "owner" + (id % 1_000),
+                    LANGUAGES[(int) (id % LANGUAGES.length)],
+                    random.nextInt(100_000),
+                    random.nextInt(20_000),
+                    Timestamp.valueOf(base.minusMinutes(random.nextInt(525_600))),
+                    now,
+                    now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
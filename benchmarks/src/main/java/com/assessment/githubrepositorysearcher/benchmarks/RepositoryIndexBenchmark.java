@@ -0,0 +1,114 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.repository.RepositorySpecifications;
+import com.assessment.githubrepositorysearcher.service.RepositoryIndex;
+import com.assessment.githubrepositorysearcher.service.RepositoryMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stored repository queries served by the in-process RepositoryIndex next to
+ * the JPA path they replace
+ * The index is warmed up from the seeded H2 table; the JPA benchmarks include
+ * the entity to DTO mapping, since the index returns DTOs directly
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RepositoryIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private RepositoryRepository repositoryRepository;
+    private RepositoryMapper repositoryMapper;
+    private RepositoryIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        repositoryRepository = context.getBean(RepositoryRepository.class);
+        repositoryMapper = context.getBean(RepositoryMapper.class);
+
+        // A separate enabled index, since the application one was skipped on the empty table
+        index = new RepositoryIndex(repositoryRepository, repositoryMapper,
+                context.getBean(PlatformTransactionManager.class), context.getBean(EntityManager.class),
+                new SimpleMeterRegistry(), true);
+        index.warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RepositoryDto> jpaFilteredListByLanguage() {
+        return toDtos(repositoryRepository.findRepositoriesWithFilters("Java", null, "stars"));
+    }
+
+    @Benchmark
+    public List<RepositoryDto> indexFilteredListByLanguage() {
+        return index.query(null, "Java", null, "stars", 0, Integer.MAX_VALUE).repositories();
+    }
+
+    @Benchmark
+    public List<RepositoryDto> jpaTopByMinStars() {
+        return toDtos(repositoryRepository.findBy(RepositorySpecifications.withFilters(null, 99_000),
+                query -> query.sortBy(RepositorySpecifications.sortFor("forks")).limit(20).all()));
+    }
+
+    @Benchmark
+    public List<RepositoryDto> indexTopByMinStars() {
+        return index.query(null, null, 99_000, "forks", 0, 20).repositories();
+    }
+
+    @Benchmark
+    public List<RepositoryDto> jpaTopByLanguage() {
+        return toDtos(repositoryRepository.findBy(RepositorySpecifications.withFilters("Rust", null),
+                query -> query.sortBy(RepositorySpecifications.sortFor("updated")).limit(20).all()));
+    }
+
+    @Benchmark
+    public List<RepositoryDto> indexTopByLanguage() {
+        return index.query(null, "Rust", null, "updated", 0, 20).repositories();
+    }
+
+    /**
+     * Keyword search; the database counterpart is PostgreSQL full-text search,
+     * which embedded H2 cannot run
+     */
+    @Benchmark
+    public List<RepositoryDto> indexKeywordSearch() {
+        return index.query("benchmark owner42", null, null, "stars", 0, 20).repositories();
+    }
+
+    private List<RepositoryDto> toDtos(List<Repository> repositories) {
+        return repositories.stream().map(repositoryMapper::toDto).toList();
+    }
+}
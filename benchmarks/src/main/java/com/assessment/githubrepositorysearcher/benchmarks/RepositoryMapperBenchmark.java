@@ -0,0 +1,71 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.assessment.githubrepositorysearcher.dto.GitHubOwner;
+import com.assessment.githubrepositorysearcher.dto.GitHubRepository;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.service.RepositoryMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per item mapping cost: GitHub item to entity (dominated by updated_at
+ * parsing), timestamp parsing alone, and entity to response DTO
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryMapperBenchmark {
+
+    private final RepositoryMapper repositoryMapper = new RepositoryMapper();
+
+    private GitHubRepository gitHubRepository;
+    private Repository repository;
+
+    @Setup
+    public void setUp() {
+        GitHubOwner owner = new GitHubOwner();
+        owner.setLogin("spring-projects");
+
+        gitHubRepository = new GitHubRepository();
+        gitHubRepository.setId(6296790L);
+        gitHubRepository.setName("spring-boot");
+        gitHubRepository.setDescription("Spring Boot helps you to create Spring-powered, production-grade applications.");
+        gitHubRepository.setLanguage("Java");
+        gitHubRepository.setStargazersCount(77692);
+        gitHubRepository.setForksCount(41269);
+        gitHubRepository.setUpdatedAt("2025-07-08T14:56:03Z");
+        gitHubRepository.setOwner(owner);
+
+        repository = repositoryMapper.toEntity(gitHubRepository);
+    }
+
+    @Benchmark
+    public Repository toEntity() {
+        return repositoryMapper.toEntity(gitHubRepository);
+    }
+
+    @Benchmark
+    public LocalDateTime parseTimestamp() {
+        return repositoryMapper.parseTimestamp(gitHubRepository.getUpdatedAt());
+    }
+
+    @Benchmark
+    public RepositoryDto toDto() {
+        return repositoryMapper.toDto(repository);
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.repository.RepositorySpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stored repository queries against an embedded H2 database
+ * Starts the application context without a web server, seeds the repositories
+ * table through BenchmarkDatabase and measures the full filtered listing used
+ * by GET /api/github/repositories next to a single keyset page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RepositoryQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private RepositoryRepository repositoryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        repositoryRepository = context.getBean(RepositoryRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Repository> findRepositoriesWithFiltersByLanguage() {
+        return repositoryRepository.findRepositoriesWithFilters("Java", null, "stars");
+    }
+
+    @Benchmark
+    public List<Repository> findRepositoriesWithFiltersByMinStars() {
+        return repositoryRepository.findRepositoriesWithFilters(null, 99_000, "forks");
+    }
+
+    @Benchmark
+    public List<Repository> findFirstKeysetPage() {
+        return repositoryRepository.findBy(RepositorySpecifications.withFilters("Java", null),
+                query -> query.sortBy(RepositorySpecifications.sortFor("stars")).limit(20).all());
+    }
+}
@@ -0,0 +1,71 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.assessment.githubrepositorysearcher.dto.GitHubSearchResponse;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.service.GitHubSearchDecoder;
+import com.assessment.githubrepositorysearcher.service.RepositoryMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of recorded GitHub search responses into response DTOs
+ * Compares databind into GitHubSearchResponse followed by entity and DTO
+ * mapping with the streaming decoder used by GitHubService, which decodes
+ * DTOs and builds the entities to persist from them; both produce entities
+ * and DTOs. Run with -prof gc to compare gc.alloc.rate.norm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchDecodeBenchmark {
+
+    @Param({"30", "100", "1000"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private RepositoryMapper repositoryMapper;
+    private GitHubSearchDecoder decoder;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        repositoryMapper = new RepositoryMapper();
+        decoder = new GitHubSearchDecoder(objectMapper, repositoryMapper);
+        body = SearchPayloads.searchResponse(objectMapper, items);
+    }
+
+    @Benchmark
+    public List<RepositoryDto> databind() throws IOException {
+        return objectMapper.readValue(body, GitHubSearchResponse.class).getItems().stream()
+                .map(repositoryMapper::toEntity)
+                .map(repositoryMapper::toDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Repository> streaming() {
+        return decoder.decode(body).items().stream()
+                .map(repositoryMapper::toEntity)
+                .toList();
+    }
+}
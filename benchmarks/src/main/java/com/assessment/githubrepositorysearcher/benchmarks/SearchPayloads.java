@@ -0,0 +1,42 @@
+package com.assessment.githubrepositorysearcher.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * GitHub search response bodies built from the recorded search item
+ */
+final class SearchPayloads {
+
+    private SearchPayloads() {
+    }
+
+    /**
+     * Build a search response body with the given number of distinct items
+     */
+    static byte[] searchResponse(ObjectMapper objectMapper, int itemCount) {
+        try (InputStream inputStream = SearchPayloads.class.getResourceAsStream("/github/search-item.json")) {
+            ObjectNode recordedItem = (ObjectNode) objectMapper.readTree(inputStream);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("total_count", itemCount);
+            response.put("incomplete_results", false);
+            ArrayNode items = response.putArray("items");
+            for (int i = 1; i <= itemCount; i++) {
+                ObjectNode item = recordedItem.deepCopy();
+                item.put("id", i);
+                item.put("name", "spring-boot-" + i);
+                item.put("stargazers_count", 100_000 - i);
+                item.put("forks_count", 50_000 - i);
+                items.add(item);
+            }
+            return objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to build search payload: " + e.getMessage(), e);
+        }
+    }
+}
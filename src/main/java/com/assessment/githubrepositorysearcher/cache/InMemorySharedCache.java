@@ -0,0 +1,87 @@
+package com.assessment.githubrepositorysearcher.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a shared cache
+ * Behaves like the Redis implementation within one JVM: values expire after
+ * their TTL and messages are delivered synchronously to every subscriber.
+ * Several caches sharing one instance act as separate service instances,
+ * which is how tests exercise cross-instance invalidation
+ */
+public class InMemorySharedCache implements SharedCache {
+
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<byte[]>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemorySharedCache() {
+        this(Clock.systemUTC());
+    }
+
+    InMemorySharedCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    @Override
+    public long increment(String key) {
+        Entry entry = entries.compute(key, (k, current) -> {
+            long value = current != null
+                    ? Long.parseLong(new String(current.value(), StandardCharsets.UTF_8)) + 1
+                    : 1;
+            return new Entry(String.valueOf(value).getBytes(StandardCharsets.UTF_8), Long.MAX_VALUE);
+        });
+        return Long.parseLong(new String(entry.value(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Number of values currently stored, including expired ones not yet read
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(byte[] value, long expiresAtMillis) {
+    }
+}
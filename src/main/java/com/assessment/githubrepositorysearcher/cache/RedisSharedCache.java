@@ -0,0 +1,80 @@
+package com.assessment.githubrepositorysearcher.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Shared cache backed by Redis, or any server speaking its protocol
+ * Values are plain keys with an expiry, counters use INCR and broadcasts are
+ * published on a pub/sub channel; pub/sub delivery is at most once, so an
+ * instance that misses a message relies on TTLs to converge
+ */
+public class RedisSharedCache implements SharedCache, DisposableBean {
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic channel;
+
+    public RedisSharedCache(RedisConnectionFactory connectionFactory, String channel) {
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(connectionFactory);
+        this.redisTemplate.setKeySerializer(RedisSerializer.string());
+        this.redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        this.redisTemplate.afterPropertiesSet();
+
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.afterPropertiesSet();
+        this.listenerContainer.start();
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Override
+    public long increment(String key) {
+        // INCR stores the counter as a decimal string, matching get
+        Long value = redisTemplate.execute(connection -> connection.stringCommands()
+                .incr(key.getBytes(StandardCharsets.UTF_8)), true);
+        return value != null ? value : 0;
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        redisTemplate.convertAndSend(channel.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> listener.accept(message.getBody()), channel);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+}
@@ -0,0 +1,47 @@
+package com.assessment.githubrepositorysearcher.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Cache shared by every instance of the service, the second tier behind the
+ * per-instance caches
+ * Stores opaque byte values with a TTL, keeps counters, and carries broadcast
+ * messages so instances can tell each other to drop local entries
+ * Implementations may lose data at any time; callers treat every failure as
+ * a miss and fall back to the database
+ */
+public interface SharedCache {
+
+    /**
+     * Read a value, or null when absent or expired
+     */
+    byte[] get(String key);
+
+    /**
+     * Store a value that expires after the TTL
+     */
+    void put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Remove values
+     */
+    void evict(Collection<String> keys);
+
+    /**
+     * Atomically increment a counter, starting from 0, and return its new value
+     * The value is readable with get as its decimal string
+     */
+    long increment(String key);
+
+    /**
+     * Broadcast a message to every subscriber, including this instance
+     */
+    void publish(byte[] message);
+
+    /**
+     * Receive every broadcast message
+     */
+    void subscribe(Consumer<byte[]> listener);
+}
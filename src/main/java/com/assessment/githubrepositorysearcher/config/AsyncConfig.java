@@ -0,0 +1,42 @@
+package com.assessment.githubrepositorysearcher.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Scheduler used to run blocking JPA persistence off the request threads
+     * The asynchronous search path hops onto it after the non-blocking GitHub
+     * call completes, so neither step holds a servlet worker
+     *
+     * @return Scheduler backed by Reactor's bounded elastic platform threads
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler persistenceScheduler() {
+        return Schedulers.boundedElastic();
+    }
+
+    /**
+     * Virtual thread variant of the persistence scheduler
+     * Active when spring.threads.virtual.enabled=true; every persistence task
+     * gets its own virtual thread and the HikariCP pool bounds concurrency
+     *
+     * @return Scheduler backed by a virtual thread per task executor
+     */
+    @Bean(name = "persistenceScheduler", destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler virtualThreadPersistenceScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "persistence");
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.githubrepositorysearcher.config;
+
+import com.assessment.githubrepositorysearcher.cache.InMemorySharedCache;
+import com.assessment.githubrepositorysearcher.cache.RedisSharedCache;
+import com.assessment.githubrepositorysearcher.cache.SharedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+@Configuration
+public class SharedCacheConfig {
+
+    /**
+     * Shared cache tier backed by Redis, used by every service instance
+     * Connection settings come from spring.data.redis.*
+     *
+     * @return SharedCache publishing invalidations on the configured channel
+     */
+    @Bean
+    @ConditionalOnProperty(name = "github.cache.shared.type", havingValue = "redis")
+    public SharedCache redisSharedCache(
+            RedisConnectionFactory connectionFactory,
+            @Value("${github.cache.shared.channel:github-searcher:invalidations}") String channel) {
+        return new RedisSharedCache(connectionFactory, channel);
+    }
+
+    /**
+     * In-process stand-in for the shared cache tier
+     * Only shared within one JVM; meant for tests and local runs without Redis
+     *
+     * @return SharedCache held in memory
+     */
+    @Bean
+    @ConditionalOnProperty(name = "github.cache.shared.type", havingValue = "memory")
+    public SharedCache inMemorySharedCache() {
+        return new InMemorySharedCache();
+    }
+}
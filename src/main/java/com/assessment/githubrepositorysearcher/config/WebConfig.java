@@ -1,22 +1,91 @@
 package com.assessment.githubrepositorysearcher.config;
 
+import com.assessment.githubrepositorysearcher.service.GitHubCircuitBreaker;
+import com.assessment.githubrepositorysearcher.service.GitHubRateLimiter;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebConfig {
 
+    @Value("${github.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${github.http.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${github.http.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${github.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${github.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${github.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${github.http.response-timeout:10s}")
+    private Duration responseTimeout;
+
+    @Value("${github.http.max-in-memory-size:4MB}")
+    private DataSize maxInMemorySize;
+
     /**
-     * Configuring with GitHub API specific headers
-     * Sets up default headers required by GitHub API for all HTTP requests
-     * 
-     * @return WebClient.Builder configured with GitHub API headers
+     * Connection pool dedicated to GitHub API calls
+     * Idle and long lived connections are evicted in the background, and callers
+     * waiting for a connection are bounded in number and time. Pool gauges are
+     * published as reactor.netty.connection.provider.* metrics
+     *
+     * @return ConnectionProvider for the GitHub HTTP client
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider gitHubConnectionProvider() {
+        return ConnectionProvider.builder("github")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Shared WebClient for the GitHub API
+     * Built once with GitHub API specific headers, the pooled connector,
+     * connect and response timeouts, gzip compression and a codec buffer large
+     * enough for 100 item result pages; every call is routed through the rate
+     * limit scheduler and then through the circuit breaker and bulkhead
+     *
+     * @return WebClient configured for the GitHub API
      */
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient gitHubWebClient(ConnectionProvider gitHubConnectionProvider, GitHubRateLimiter rateLimiter,
+            GitHubCircuitBreaker circuitBreaker) {
+        HttpClient httpClient = HttpClient.create(gitHubConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .compress(true);
+
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                 .defaultHeader("Accept", "application/vnd.github.v3+json")
-                .defaultHeader("User-Agent", "GitHub-Repository-Searcher");
+                .defaultHeader("User-Agent", "GitHub-Repository-Searcher")
+                .filter(rateLimiter.filter())
+                .filter(circuitBreaker.filter())
+                .build();
     }
 }
\ No newline at end of file
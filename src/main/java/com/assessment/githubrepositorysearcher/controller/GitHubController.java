@@ -2,11 +2,17 @@ package com.assessment.githubrepositorysearcher.controller;
 
 import com.assessment.githubrepositorysearcher.dto.*;
 import com.assessment.githubrepositorysearcher.service.GitHubService;
+import com.assessment.githubrepositorysearcher.service.LanguageStatsService;
+import com.assessment.githubrepositorysearcher.service.RepositoryExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/github")
@@ -15,6 +21,12 @@ public class GitHubController {
     @Autowired
     private GitHubService gitHubService;
 
+    @Autowired
+    private RepositoryExportService exportService;
+
+    @Autowired
+    private LanguageStatsService languageStatsService;
+
     /**
      * Search repositories on GitHub and save results to database
      * 
@@ -39,27 +51,85 @@ public class GitHubController {
         }
     }
 
+    /**
+     * Search repositories on GitHub and save results to database asynchronously
+     * The request thread is released while GitHub is called and results are
+     * persisted, so slow upstream calls do not hold servlet workers
+     * 
+     * @param searchRequest - contains search parameters like query, language, etc.
+     * @return Mono of SearchResponse containing search results and metadata
+     */
+    @PostMapping("/search/async")
+    public Mono<ResponseEntity<SearchResponse>> searchRepositoriesAsync(
+            @Valid @RequestBody SearchRequest searchRequest) {
+
+        return gitHubService.searchAndSaveRepositoriesAsync(searchRequest)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest()
+                        .body(new SearchResponse("Invalid request: " + e.getMessage(), null))))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new SearchResponse("Internal server error: " + e.getMessage(), null))));
+    }
+
+    /**
+     * Run many GitHub searches in one request and save all results at once
+     * Searches run concurrently under the GitHub rate limit; repositories found
+     * by several searches are saved once, in a single batched transaction
+     * 
+     * @param batchSearchRequest - list of searches, each validated like a single search
+     * @return BatchSearchResponse with one result or error per search
+     */
+    @PostMapping("/search/batch")
+    public ResponseEntity<BatchSearchResponse> searchRepositoriesBatch(
+            @Valid @RequestBody BatchSearchRequest batchSearchRequest) {
+
+        try {
+            BatchSearchResponse response = gitHubService.searchAndSaveBatch(batchSearchRequest.getSearches());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new BatchSearchResponse("Invalid request: " + e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new BatchSearchResponse("Internal server error: " + e.getMessage(), null));
+        }
+    }
+
     /**
      * Retrieve stored repositories with optional filtering and sorting
      * Fetches repositories from the local database with support for:
+     * - Full-text search over name, owner and description, ranked by relevance
      * - Language filtering
      * - Minimum stars filtering
      * - Sorting by different criteria (stars, name, created date)
+     * - Keyset (after cursor) or offset (page) pagination
      * 
+     * @param q - optional full-text search over name, owner and description
      * @param language - optional filter by programming language
      * @param minStars - optional filter for minimum star count
      * @param sort - optional sorting criteria (default: "stars")
+     * @param page - optional zero based page number for offset pagination
+     * @param size - optional page size (default: 20, max: 100)
+     * @param after - optional cursor returned as nextCursor by the previous page
      * @return RepositoryListResponse containing filtered and sorted repositories
      */
     @GetMapping("/repositories")
     public ResponseEntity<RepositoryListResponse> getRepositories(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String language,
             @RequestParam(required = false) Integer minStars,
-            @RequestParam(required = false, defaultValue = "stars") String sort) {
+            @RequestParam(required = false, defaultValue = "stars") String sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after) {
 
         try {
 
-            RepositoryListResponse response = gitHubService.getStoredRepositories(language, minStars, sort);
+            RepositoryListResponse response = q != null
+                    ? gitHubService.searchStoredRepositories(q, language, minStars, sort, page, size, after)
+                    : gitHubService.getStoredRepositories(language, minStars, sort, page, size, after);
 
             return ResponseEntity.ok(response);
 
@@ -71,4 +141,80 @@ public class GitHubController {
                     .body(new RepositoryListResponse(null));
         }
     }
+
+    /**
+     * Retrieve precomputed aggregates per programming language
+     * Returns the repository count, total stars and average forks of each
+     * language from the summary table, plus its most starred repositories
+     * 
+     * @param language - optional language; all languages when omitted
+     * @param top - optional number of top repositories per language (default: 10, max: 100)
+     * @return LanguageStatsResponse with one entry per language
+     */
+    @GetMapping("/repositories/languages")
+    public ResponseEntity<LanguageStatsResponse> getLanguageStats(
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) Integer top) {
+
+        try {
+
+            return ResponseEntity.ok(languageStatsService.getLanguageStats(language, top));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new LanguageStatsResponse(null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new LanguageStatsResponse(null));
+        }
+    }
+
+    /**
+     * Retrieve one stored repository by its GitHub id
+     * 
+     * @param id - GitHub repository id
+     * @return RepositoryDto, or 404 when the repository is not stored
+     */
+    @GetMapping("/repositories/{id:\\d+}")
+    public ResponseEntity<RepositoryDto> getRepository(@PathVariable Long id) {
+
+        try {
+
+            RepositoryDto repository = gitHubService.getStoredRepository(id);
+
+            return repository != null
+                    ? ResponseEntity.ok(repository)
+                    : ResponseEntity.notFound().build();
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Export all stored repositories as a stream
+     * Writes NDJSON (one repository per line) or CSV incrementally, so the
+     * response size is not limited by the server heap
+     * 
+     * @param format - export format, "ndjson" (default) or "csv"
+     * @return streaming response body with the exported repositories
+     */
+    @GetMapping("/repositories/export")
+    public ResponseEntity<StreamingResponseBody> exportRepositories(
+            @RequestParam(required = false, defaultValue = "ndjson") String format) {
+
+        if (!exportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        MediaType mediaType = "csv".equals(format)
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody body = outputStream -> exportService.export(outputStream, format);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=repositories." + format)
+                .body(body);
+    }
 }
\ No newline at end of file
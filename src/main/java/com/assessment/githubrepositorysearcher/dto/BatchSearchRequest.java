@@ -0,0 +1,33 @@
+package com.assessment.githubrepositorysearcher.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for running many GitHub repository searches in one call
+ * Every search is validated like a single search request
+ */
+public class BatchSearchRequest {
+
+    @NotEmpty(message = "searches cannot be empty")
+    @Size(max = 100, message = "searches cannot exceed 100 queries")
+    @Valid
+    private List<SearchRequest> searches;
+
+    public BatchSearchRequest() {}
+
+    public BatchSearchRequest(List<SearchRequest> searches) {
+        this.searches = searches;
+    }
+
+    public List<SearchRequest> getSearches() {
+        return searches;
+    }
+
+    public void setSearches(List<SearchRequest> searches) {
+        this.searches = searches;
+    }
+}
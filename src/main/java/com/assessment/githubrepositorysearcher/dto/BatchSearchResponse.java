@@ -0,0 +1,74 @@
+package com.assessment.githubrepositorysearcher.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch GitHub repository searches
+ * Contains one result per requested search, in request order, plus how many
+ * distinct repositories the batch inserted, updated or found unchanged
+ * The counts are null when writes were handed to the write-behind queue
+ */
+public class BatchSearchResponse {
+
+    private String message;
+    private List<BatchSearchResult> results;
+    private Integer inserted;
+    private Integer updated;
+    private Integer unchanged;
+
+    public BatchSearchResponse() {}
+
+    public BatchSearchResponse(String message, List<BatchSearchResult> results) {
+        this.message = message;
+        this.results = results;
+    }
+
+    public BatchSearchResponse(String message, List<BatchSearchResult> results,
+            Integer inserted, Integer updated, Integer unchanged) {
+        this.message = message;
+        this.results = results;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<BatchSearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchSearchResult> results) {
+        this.results = results;
+    }
+
+    public Integer getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(Integer inserted) {
+        this.inserted = inserted;
+    }
+
+    public Integer getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Integer updated) {
+        this.updated = updated;
+    }
+
+    public Integer getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(Integer unchanged) {
+        this.unchanged = unchanged;
+    }
+}
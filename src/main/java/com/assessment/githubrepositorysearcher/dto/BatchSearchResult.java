@@ -0,0 +1,47 @@
+package com.assessment.githubrepositorysearcher.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one search within a batch
+ * Carries the repositories found by the search, or the error that made it
+ * fail; a failed search does not fail the rest of the batch
+ */
+public class BatchSearchResult {
+
+    private String query;
+    private List<RepositoryDto> repositories;
+    private String error;
+
+    public BatchSearchResult() {}
+
+    public BatchSearchResult(String query, List<RepositoryDto> repositories, String error) {
+        this.query = query;
+        this.repositories = repositories;
+        this.error = error;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<RepositoryDto> getRepositories() {
+        return repositories;
+    }
+
+    public void setRepositories(List<RepositoryDto> repositories) {
+        this.repositories = repositories;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
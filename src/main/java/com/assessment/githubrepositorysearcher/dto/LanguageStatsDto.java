@@ -0,0 +1,69 @@
+package com.assessment.githubrepositorysearcher.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the aggregates of one programming language used in API responses
+ * Counts and totals come from the precomputed summary table; the top
+ * repositories are the most starred stored repositories of the language
+ */
+public class LanguageStatsDto {
+
+    private String language;
+    private long repositoryCount;
+    private long totalStars;
+    private double averageForks;
+    private List<RepositoryDto> topRepositories;
+
+    public LanguageStatsDto() {
+    }
+
+    public LanguageStatsDto(String language, long repositoryCount, long totalStars, double averageForks,
+            List<RepositoryDto> topRepositories) {
+        this.language = language;
+        this.repositoryCount = repositoryCount;
+        this.totalStars = totalStars;
+        this.averageForks = averageForks;
+        this.topRepositories = topRepositories;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public long getRepositoryCount() {
+        return repositoryCount;
+    }
+
+    public void setRepositoryCount(long repositoryCount) {
+        this.repositoryCount = repositoryCount;
+    }
+
+    public long getTotalStars() {
+        return totalStars;
+    }
+
+    public void setTotalStars(long totalStars) {
+        this.totalStars = totalStars;
+    }
+
+    public double getAverageForks() {
+        return averageForks;
+    }
+
+    public void setAverageForks(double averageForks) {
+        this.averageForks = averageForks;
+    }
+
+    public List<RepositoryDto> getTopRepositories() {
+        return topRepositories;
+    }
+
+    public void setTopRepositories(List<RepositoryDto> topRepositories) {
+        this.topRepositories = topRepositories;
+    }
+}
@@ -0,0 +1,26 @@
+package com.assessment.githubrepositorysearcher.dto;
+
+import java.util.List;
+
+/**
+ * Response wrapper for the language aggregates API endpoint
+ * Contains one entry per language, languages with most repositories first
+ */
+public class LanguageStatsResponse {
+
+    private List<LanguageStatsDto> languages;
+
+    public LanguageStatsResponse() {}
+
+    public LanguageStatsResponse(List<LanguageStatsDto> languages) {
+        this.languages = languages;
+    }
+
+    public List<LanguageStatsDto> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(List<LanguageStatsDto> languages) {
+        this.languages = languages;
+    }
+}
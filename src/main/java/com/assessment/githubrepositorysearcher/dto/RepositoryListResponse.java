@@ -4,18 +4,29 @@ import java.util.List;
 
 /**
  * Response wrapper for repository list API endpoint
- * Contains a list of repositories returned to clients
+ * Contains a list of repositories returned to clients, plus paging details
+ * when the request asked for a page
  */
 public class RepositoryListResponse {
     
     private List<RepositoryDto> repositories;
     
+    private String nextCursor; // Keyset cursor for the next page, null on the last page
+    
+    private Long totalElements; // Only set for offset (page/size) requests
+    
     public RepositoryListResponse() {}
     
     public RepositoryListResponse(List<RepositoryDto> repositories) {
         this.repositories = repositories;
     }
     
+    public RepositoryListResponse(List<RepositoryDto> repositories, String nextCursor, Long totalElements) {
+        this.repositories = repositories;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+    
     public List<RepositoryDto> getRepositories() {
         return repositories;
     }
@@ -23,4 +34,20 @@ public class RepositoryListResponse {
     public void setRepositories(List<RepositoryDto> repositories) {
         this.repositories = repositories;
     }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public Long getTotalElements() {
+        return totalElements;
+    }
+    
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.assessment.githubrepositorysearcher.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -17,6 +19,10 @@ public class SearchRequest {
     
     private String sort = "stars"; // Default sort by stars
     
+    @Min(value = 1, message = "maxResults must be at least 1")
+    @Max(value = 1000, message = "maxResults cannot exceed GitHub's 1000 result limit")
+    private Integer maxResults; // Defaults to a single page of 30 results
+    
     public SearchRequest() {}
     
     public SearchRequest(String query, String language, String sort) {
@@ -49,4 +55,12 @@ public class SearchRequest {
     public void setSort(String sort) {
         this.sort = sort;
     }
+    
+    public Integer getMaxResults() {
+        return maxResults;
+    }
+    
+    public void setMaxResults(Integer maxResults) {
+        this.maxResults = maxResults;
+    }
 }
\ No newline at end of file
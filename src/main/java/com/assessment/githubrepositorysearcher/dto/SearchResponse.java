@@ -4,12 +4,20 @@ import java.util.List;
 
 /**
  * Response DTO for GitHub repository search operations
- * Contains search results and status message
+ * Contains search results and status message, plus how many repositories
+ * the search inserted, updated or found unchanged in the database
+ * The counts are null when writes were handed to the write-behind queue
+ * Stale responses were served from stored repositories because GitHub was
+ * unavailable; nothing was fetched or saved for them
  */
 public class SearchResponse {
     
     private String message;
     private List<RepositoryDto> repositories;
+    private Integer inserted;
+    private Integer updated;
+    private Integer unchanged;
+    private boolean stale;
     
     public SearchResponse() {}
     
@@ -18,6 +26,23 @@ public class SearchResponse {
         this.repositories = repositories;
     }
     
+    public SearchResponse(String message, List<RepositoryDto> repositories,
+            Integer inserted, Integer updated, Integer unchanged) {
+        this.message = message;
+        this.repositories = repositories;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+    
+    public boolean isStale() {
+        return stale;
+    }
+    
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+    
     public String getMessage() {
         return message;
     }
@@ -33,5 +58,28 @@ public class SearchResponse {
     public void setRepositories(List<RepositoryDto> repositories) {
         this.repositories = repositories;
     }
+    
+    public Integer getInserted() {
+        return inserted;
+    }
+    
+    public void setInserted(Integer inserted) {
+        this.inserted = inserted;
+    }
+    
+    public Integer getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(Integer updated) {
+        this.updated = updated;
+    }
+    
+    public Integer getUnchanged() {
+        return unchanged;
+    }
+    
+    public void setUnchanged(Integer unchanged) {
+        this.unchanged = unchanged;
+    }
 }
-
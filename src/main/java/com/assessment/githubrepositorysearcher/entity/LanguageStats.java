@@ -0,0 +1,109 @@
+package com.assessment.githubrepositorysearcher.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the precomputed aggregates of one programming language
+ * Maps to the 'language_stats' summary table, which is maintained
+ * incrementally from repository writes so aggregate reads are a primary key
+ * lookup instead of a scan of the repositories table
+ * Implements Persistable so that creating a row always issues a plain INSERT,
+ * which fails instead of overwriting a row a concurrent writer created first
+ */
+@Entity
+@Table(name = "language_stats")
+public class LanguageStats implements Persistable<String> {
+
+    @Id
+    private String language;
+
+    @Column(name = "repository_count", nullable = false)
+    private long repositoryCount;
+
+    @Column(name = "total_stars", nullable = false)
+    private long totalStars;
+
+    @Column(name = "total_forks", nullable = false)
+    private long totalForks;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public LanguageStats() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LanguageStats(String language) {
+        this();
+        this.language = language;
+    }
+
+    public LanguageStats(String language, long repositoryCount, long totalStars, long totalForks) {
+        this(language);
+        this.repositoryCount = repositoryCount;
+        this.totalStars = totalStars;
+        this.totalForks = totalForks;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public long getRepositoryCount() {
+        return repositoryCount;
+    }
+
+    public void setRepositoryCount(long repositoryCount) {
+        this.repositoryCount = repositoryCount;
+    }
+
+    public long getTotalStars() {
+        return totalStars;
+    }
+
+    public void setTotalStars(long totalStars) {
+        this.totalStars = totalStars;
+    }
+
+    public long getTotalForks() {
+        return totalForks;
+    }
+
+    public void setTotalForks(long totalForks) {
+        this.totalForks = totalForks;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String getId() {
+        return language;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markNotNew() {
+        this.isNew = false;
+    }
+}
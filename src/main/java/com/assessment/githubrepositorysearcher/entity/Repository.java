@@ -1,15 +1,33 @@
 package com.assessment.githubrepositorysearcher.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDateTime;
 
 /**
  * Entity representing a GitHub repository stored in the database
  * Maps to the 'repositories' table with automatic timestamp management
+ * Implements Persistable so that saving a freshly built entity with a GitHub
+ * assigned id issues a plain INSERT instead of a SELECT followed by a merge
+ * On PostgreSQL the table also has a generated search_vector tsvector column
+ * with a GIN index for full-text search; it is written by the database and
+ * deliberately not mapped, so loading entities never transfers it
+ * Cached in the "repositories" second-level cache region; writes through
+ * Hibernate update the cached entry when their transaction commits
  */
 @Entity
-@Table(name = "repositories")
-public class Repository {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "repositories")
+@Table(name = "repositories", indexes = {
+        @Index(name = "idx_repositories_language_stars", columnList = "language, stars, id"),
+        @Index(name = "idx_repositories_language_forks", columnList = "language, forks, id"),
+        @Index(name = "idx_repositories_language_last_updated", columnList = "language, last_updated, id"),
+        @Index(name = "idx_repositories_updated_at", columnList = "updated_at, id")
+})
+public class Repository implements Persistable<Long> {
     
     @Id
     private Long id; // GitHub repository ID
@@ -31,7 +49,7 @@ public class Repository {
     @Column(nullable = false)
     private Integer forks;
     
-    @Column(nullable = false)
+    @Column(name = "last_updated", nullable = false)
     private LocalDateTime lastUpdated;
     
     @Column(nullable = false)
@@ -40,6 +58,9 @@ public class Repository {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    @Transient
+    private boolean isNew = true;
+    
     public Repository() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -58,6 +79,7 @@ public class Repository {
         this.lastUpdated = lastUpdated;
     }
     
+    @Override
     public Long getId() {
         return id;
     }
@@ -138,6 +160,17 @@ public class Repository {
         this.updatedAt = updatedAt;
     }
     
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    @PostLoad
+    @PostPersist
+    public void markNotNew() {
+        this.isNew = false;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
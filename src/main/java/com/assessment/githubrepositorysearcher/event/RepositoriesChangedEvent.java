@@ -0,0 +1,75 @@
+package com.assessment.githubrepositorysearcher.event;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+
+import java.util.List;
+
+/**
+ * Event published when repositories are inserted or updated in the database
+ * Carries the language, star and fork counts of each row before and after the
+ * write, so listeners can tell which filtered views the write may have changed
+ * and adjust aggregates. It also carries the written entities for listeners
+ * that mirror the rows; they must not be modified, and the source of the write
+ */
+public class RepositoriesChangedEvent {
+
+    private final List<RepositoryChange> changes;
+    private final List<Repository> repositories;
+    private final Source source;
+
+    public RepositoriesChangedEvent(List<RepositoryChange> changes) {
+        this(changes, List.of(), Source.SEARCH);
+    }
+
+    public RepositoriesChangedEvent(List<RepositoryChange> changes, List<Repository> repositories, Source source) {
+        this.changes = changes;
+        this.repositories = repositories;
+        this.source = source;
+    }
+
+    public List<RepositoryChange> getChanges() {
+        return changes;
+    }
+
+    public List<Repository> getRepositories() {
+        return repositories;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * What wrote the rows: a search saving its results directly, the
+     * write-behind queue saving them later, or the background refresh
+     */
+    public enum Source {
+        SEARCH, WRITE_BEHIND, REFRESH;
+
+        public String tagValue() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    /**
+     * Single written row; previous values are null for inserted repositories
+     */
+    public record RepositoryChange(
+            Long id,
+            String previousLanguage,
+            Integer previousStars,
+            Integer previousForks,
+            String language,
+            Integer stars,
+            Integer forks) {
+
+        public RepositoryChange(Long id, String previousLanguage, Integer previousStars,
+                String language, Integer stars) {
+            this(id, previousLanguage, previousStars, null, language, stars, null);
+        }
+
+        public boolean isInsert() {
+            return previousStars == null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.assessment.githubrepositorysearcher.exception;
+
+/**
+ * Exception thrown when the GitHub API cannot answer a call
+ * Covers calls rejected by the circuit breaker or bulkhead, transport errors,
+ * timeouts and 5xx responses, as opposed to GitHub rejecting the request itself
+ */
+public class GitHubUnavailableException extends RuntimeException {
+
+    public GitHubUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,52 @@
+package com.assessment.githubrepositorysearcher.repository;
+
+import com.assessment.githubrepositorysearcher.entity.LanguageStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@org.springframework.stereotype.Repository
+public interface LanguageStatsRepository extends JpaRepository<LanguageStats, String> {
+
+    /**
+     * Find the aggregates of every language that still has repositories, largest first
+     */
+    @Query("SELECT s FROM LanguageStats s WHERE s.repositoryCount > 0"
+            + " ORDER BY s.repositoryCount DESC, s.language")
+    List<LanguageStats> findAllNonEmpty();
+
+    /**
+     * Add deltas to a language's aggregates in one statement
+     * The row lock taken by the UPDATE serializes concurrent writers, so no
+     * increment is lost; returns 0 when the language has no row yet
+     */
+    @Modifying
+    @Query("UPDATE LanguageStats s SET s.repositoryCount = s.repositoryCount + :count,"
+            + " s.totalStars = s.totalStars + :stars, s.totalForks = s.totalForks + :forks,"
+            + " s.updatedAt = :updatedAt WHERE s.language = :language")
+    int addToLanguage(@Param("language") String language, @Param("count") long count,
+            @Param("stars") long stars, @Param("forks") long forks, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find the aggregates of every language, locking the rows in language order
+     * Writers adjust the rows in the same order, so neither side deadlocks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LanguageStats s ORDER BY s.language")
+    List<LanguageStats> findAllForUpdate();
+
+    /**
+     * Compute the aggregates of every language from the repositories table
+     * Reads the whole table, so it is only used to reconcile the summary rows
+     */
+    @Query("SELECT new com.assessment.githubrepositorysearcher.entity.LanguageStats("
+            + "r.language, COUNT(r), COALESCE(SUM(r.stars), 0), COALESCE(SUM(r.forks), 0))"
+            + " FROM Repository r WHERE r.language IS NOT NULL GROUP BY r.language")
+    List<LanguageStats> computeFromRepositories();
+}
@@ -1,41 +1,159 @@
 package com.assessment.githubrepositorysearcher.repository;
 
 import com.assessment.githubrepositorysearcher.entity.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @org.springframework.stereotype.Repository
-public interface RepositoryRepository extends JpaRepository<Repository, Long> {
+public interface RepositoryRepository extends JpaRepository<Repository, Long>,
+        JpaSpecificationExecutor<Repository> {
+
+    // Full-text match on the search_vector GIN index, with the optional filters
+    // Only the mapped columns are selected so the tsvector is not sent back
+    String FULL_TEXT_SEARCH = "SELECT r.id, r.name, r.description, r.owner, r.language, r.stars, r.forks,"
+            + " r.last_updated, r.created_at, r.updated_at"
+            + " FROM repositories r, websearch_to_tsquery('english', :q) query"
+            + " WHERE r.search_vector @@ query"
+            + " AND (CAST(:language AS TEXT) IS NULL OR r.language = :language)"
+            + " AND r.stars >= :minStars"
+            + " ORDER BY ts_rank_cd(r.search_vector, query) DESC, ";
+    String FULL_TEXT_PAGE = ", r.id DESC LIMIT :limit OFFSET :offset";
+
+    // Query cache region of the cacheable finders, bounded in application.conf
+    String REPOSITORY_QUERY_CACHE_REGION = "repository-queries";
     
-     /**
+    /**
      * Find repositories with optional filtering and sorting
      * Supports filtering by language and minimum stars with dynamic sorting
+     * Only the filters that are present become predicates and the sort is a plain
+     * column order, so PostgreSQL can serve it from the (language, column) indexes
      */
-    @Query("SELECT r FROM Repository r WHERE " +
-           "(:language IS NULL OR r.language = :language) AND " +
-           "(:minStars IS NULL OR r.stars >= :minStars) " +
-           "ORDER BY " +
-           "CASE WHEN :sort = 'stars' THEN r.stars END DESC, " +
-           "CASE WHEN :sort = 'forks' THEN r.forks END DESC, " +
-           "CASE WHEN :sort = 'updated' THEN r.lastUpdated END DESC")
-    List<Repository> findRepositoriesWithFilters(
-            @Param("language") String language,
-            @Param("minStars") Integer minStars,
-            @Param("sort") String sort
-    );
+    default List<Repository> findRepositoriesWithFilters(String language, Integer minStars, String sort) {
+        return findAll(
+                RepositorySpecifications.withFilters(language, minStars),
+                RepositorySpecifications.sortFor(sort));
+    }
     
-     /**
+    /**
      * Find repositories by programming language
+     * Result ids are kept in the "repository-queries" query cache region and
+     * the rows themselves in the entity region; Hibernate discards the cached
+     * result after any committed write to the repositories table
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REPOSITORY_QUERY_CACHE_REGION)
+    })
     @Query("SELECT r FROM Repository r WHERE r.language = :language")
     List<Repository> findByLanguage(@Param("language") String language);
     
     /**
      * Find repositories with star count greater than or equal to specified value
+     * Cached in the "repository-queries" query cache region like findByLanguage
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REPOSITORY_QUERY_CACHE_REGION)
+    })
     @Query("SELECT r FROM Repository r WHERE r.stars >= :minStars")
     List<Repository> findByStarsGreaterThanEqual(@Param("minStars") Integer minStars);
+    
+    /**
+     * Stream all repositories ordered by id for bulk export
+     * Rows are read from the JDBC cursor in fetch size chunks as read-only
+     * entities and bypass the second-level cache, so a full pass does not
+     * evict its hot entries; must be consumed inside a transaction and closed
+     * afterwards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT r FROM Repository r ORDER BY r.id")
+    Stream<Repository> streamAll();
+
+    /**
+     * Find repositories by id, locking the rows until the transaction ends
+     * Rows are locked in id order so concurrent upserts of overlapping batches
+     * cannot deadlock; a second writer waits and then reads the committed row
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Repository r WHERE r.id IN :ids ORDER BY r.id")
+    List<Repository> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Full-text search over name, owner and description (PostgreSQL only)
+     * Matches the websearch style query against the generated search_vector
+     * column through its GIN index and orders matches by relevance, breaking
+     * ties with the requested sort column and id
+     */
+    default List<Repository> searchFullText(String q, String language, Integer minStars, String sort,
+            int limit, int offset) {
+        int starsFloor = minStars != null ? minStars : 0;
+        switch (sort) {
+            case "stars":
+                return searchFullTextByStars(q, language, starsFloor, limit, offset);
+            case "forks":
+                return searchFullTextByForks(q, language, starsFloor, limit, offset);
+            case "updated":
+                return searchFullTextByUpdated(q, language, starsFloor, limit, offset);
+            default:
+                throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
+        }
+    }
+
+    @Query(value = FULL_TEXT_SEARCH + "r.stars DESC" + FULL_TEXT_PAGE, nativeQuery = true)
+    List<Repository> searchFullTextByStars(@Param("q") String q, @Param("language") String language,
+            @Param("minStars") int minStars, @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query(value = FULL_TEXT_SEARCH + "r.forks DESC" + FULL_TEXT_PAGE, nativeQuery = true)
+    List<Repository> searchFullTextByForks(@Param("q") String q, @Param("language") String language,
+            @Param("minStars") int minStars, @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query(value = FULL_TEXT_SEARCH + "r.last_updated DESC" + FULL_TEXT_PAGE, nativeQuery = true)
+    List<Repository> searchFullTextByUpdated(@Param("q") String q, @Param("language") String language,
+            @Param("minStars") int minStars, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Find the most starred repositories of a language, id descending on ties
+     * Read backwards from the (language, stars, id) index, so only the
+     * returned rows are touched
+     */
+    List<Repository> findByLanguageOrderByStarsDescIdDesc(String language, Limit limit);
+
+    /**
+     * Find repositories last refreshed before the cutoff, least recently refreshed first
+     * Served by the (updated_at, id) index
+     */
+    List<Repository> findByUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Find when the least recently refreshed repository was refreshed
+     */
+    @Query("SELECT MIN(r.updatedAt) FROM Repository r")
+    LocalDateTime findOldestUpdatedAt();
+
+    /**
+     * Record that repositories were checked against GitHub, in one statement
+     */
+    @Modifying
+    @Query("UPDATE Repository r SET r.updatedAt = :checkedAt WHERE r.id IN :ids")
+    int markChecked(@Param("ids") Collection<Long> ids, @Param("checkedAt") LocalDateTime checkedAt);
 }
\ No newline at end of file
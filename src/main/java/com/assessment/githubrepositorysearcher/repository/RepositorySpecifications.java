@@ -0,0 +1,108 @@
+package com.assessment.githubrepositorysearcher.repository;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Specifications and sort orders for stored repository queries
+ * Filters are only added when their parameter is present and every sort is a
+ * plain column order with id as tie breaker, which keeps keyset pagination stable
+ */
+public final class RepositorySpecifications {
+
+    private RepositorySpecifications() {
+    }
+
+    /**
+     * Combine the optional language and minimum stars filters
+     */
+    public static Specification<Repository> withFilters(String language, Integer minStars) {
+        Specification<Repository> specification = (root, query, cb) -> cb.conjunction();
+        if (language != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("language"), language));
+        }
+        if (minStars != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("stars"), minStars));
+        }
+        return specification;
+    }
+
+    /**
+     * Plain keywords of a GitHub search query, lower-cased
+     * Quotes are dropped and GitHub qualifiers such as stars:>100 are skipped
+     */
+    public static List<String> queryKeywords(String query) {
+        List<String> keywords = new ArrayList<>();
+        for (String keyword : query.trim().toLowerCase().split("\\s+")) {
+            String term = keyword.replace("\"", "");
+            if (!term.isEmpty() && !term.contains(":")) {
+                keywords.add(term);
+            }
+        }
+        return keywords;
+    }
+
+    /**
+     * Match a GitHub search query against stored rows
+     * Every plain keyword of the query must occur, case-insensitively, in the
+     * name, owner or description; GitHub qualifiers such as stars:>100 are
+     * ignored. A best-effort stand-in for GitHub's own matching
+     * The substring match cannot use an index, so it reads every row
+     */
+    public static Specification<Repository> matchingQuery(String query) {
+        Specification<Repository> specification = (root, q, cb) -> cb.conjunction();
+        for (String term : queryKeywords(query)) {
+            String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            specification = specification.and((root, q, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("owner")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("description")), pattern, '\\')));
+        }
+        return specification;
+    }
+
+    /**
+     * Restrict results to rows after a keyset cursor for the given sort
+     * Matches rows whose sort value is lower than the cursor value, or equal
+     * with a lower id, mirroring the descending sort order
+     */
+    public static <T extends Comparable<? super T>> Specification<Repository> after(
+            String sort, T value, Long id) {
+        String attribute = sortAttribute(sort);
+        return (root, query, cb) -> {
+            Path<T> path = root.get(attribute);
+            Path<Long> idPath = root.get("id");
+            return cb.or(
+                    cb.lessThan(path, value),
+                    cb.and(cb.equal(path, value), cb.lessThan(idPath, id)));
+        };
+    }
+
+    /**
+     * Descending sort for a sort parameter, with id as tie breaker
+     */
+    public static Sort sortFor(String sort) {
+        return Sort.by(Sort.Direction.DESC, sortAttribute(sort), "id");
+    }
+
+    /**
+     * Map a sort parameter to the entity attribute it orders by
+     */
+    public static String sortAttribute(String sort) {
+        switch (sort) {
+            case "stars":
+                return "stars";
+            case "forks":
+                return "forks";
+            case "updated":
+                return "lastUpdated";
+            default:
+                throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
+        }
+    }
+}
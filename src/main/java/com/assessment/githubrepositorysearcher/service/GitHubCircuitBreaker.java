@@ -0,0 +1,166 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker and concurrency bulkhead around outbound GitHub API calls
+ * The breaker opens when, over a sliding window of calls, too many fail
+ * (transport errors, timeouts, 5xx) or take longer than the slow call
+ * threshold; while open, calls are rejected at once instead of queueing on a
+ * struggling upstream, and after the open duration a few trial calls decide
+ * whether it closes again. The bulkhead caps concurrent calls in flight and
+ * rejects calls beyond it without waiting
+ * Applied as a WebClient filter after the rate limit scheduler, so time spent
+ * waiting for rate limit budget never counts as a slow call
+ * Breaker state and rejections are published as github.upstream.* metrics
+ */
+@Component
+public class GitHubCircuitBreaker {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    public GitHubCircuitBreaker(
+            @Value("${github.upstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${github.upstream.circuit-breaker.slow-call-threshold:3s}") Duration slowCallThreshold,
+            @Value("${github.upstream.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${github.upstream.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${github.upstream.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${github.upstream.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${github.upstream.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${github.upstream.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        this.circuitBreaker = CircuitBreaker.of("github", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .build());
+        this.bulkhead = Bulkhead.of("github", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        // One gauge per state, 1 for the current state and 0 for the others
+        for (CircuitBreaker.State state : List.of(
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN)) {
+            Gauge.builder("github.upstream.circuit.state", circuitBreaker,
+                            breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("Circuit breaker state of GitHub API calls")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("github.upstream.bulkhead.available", bulkhead,
+                        b -> b.getMetrics().getAvailableConcurrentCalls())
+                .description("GitHub API calls that may still start concurrently")
+                .register(meterRegistry);
+        this.circuitOpenRejections = Counter.builder("github.upstream.rejected")
+                .description("GitHub API calls rejected without being sent")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.bulkheadFullRejections = Counter.builder("github.upstream.rejected")
+                .description("GitHub API calls rejected without being sent")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * WebClient filter that admits each call through the breaker and the
+     * bulkhead and records its outcome and duration
+     * A 5xx response is recorded as a failure but still passed on, so callers
+     * see GitHub's own error
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.increment();
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                bulkheadFullRejections.increment();
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnSuccess(response -> {
+                        recorded.set(true);
+                        long duration = System.nanoTime() - start;
+                        if (response != null && response.statusCode().is5xxServerError()) {
+                            circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                                    new UpstreamServerError(response.statusCode().value()));
+                        } else {
+                            circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .doOnError(e -> {
+                        recorded.set(true);
+                        circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                    })
+                    .doOnCancel(() -> {
+                        // A cancelled call has no outcome, its trial permission is handed back
+                        if (!recorded.get()) {
+                            circuitBreaker.releasePermission();
+                        }
+                    })
+                    .doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+
+    /**
+     * Current state of the breaker
+     */
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Close the breaker and forget the recorded calls
+     */
+    public void reset() {
+        circuitBreaker.reset();
+    }
+
+    /**
+     * Check whether a failure is a call rejected by the breaker or the bulkhead
+     */
+    public static boolean isRejection(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+
+    /**
+     * Failure recorded for 5xx responses, which are not errors at exchange level
+     */
+    private static final class UpstreamServerError extends RuntimeException {
+
+        private UpstreamServerError(int status) {
+            super("GitHub API answered " + status, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client side scheduler for outbound GitHub API calls
+ * Treats the X-RateLimit budget reported by GitHub as a token bucket that is
+ * refilled at X-RateLimit-Reset: calls are paced evenly once the remaining
+ * budget drops below a threshold, queued when it is spent, and held back for
+ * Retry-After after a secondary rate limit
+ * Calls queued for the reset are spread across the new window at the rate
+ * X-RateLimit-Limit allows, so they do not all fire at the reset; calls made
+ * while the queue drains join behind it
+ * Only search calls are scheduled; calls outside the search API, such as
+ * the repository lookups of background refreshes, neither wait for the search
+ * budget nor spend it. Their responses are recorded as the separate core
+ * budget, including Retry-After and rate limit rejections, which background
+ * work checks before each call. Background work also asks for spare search
+ * budget first so it never competes with interactive searches
+ */
+@Component
+public class GitHubRateLimiter {
+
+    private static final int UNKNOWN = -1;
+    private static final String TRACKED_RESOURCE = "search";
+    private static final String CORE_RESOURCE = "core";
+    private static final String SEARCH_PATH = "/search/";
+
+    // GitHub refills the search budget every minute; the limit applies until a response reports it
+    private static final Duration SEARCH_WINDOW = Duration.ofMinutes(1);
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+
+    // Wait after a rejection without Retry-After, doubled for every further one, as GitHub advises
+    private static final Duration REJECTION_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_REJECTION_BACKOFF = Duration.ofMinutes(30);
+
+    private final Clock clock;
+    private final int pacingThreshold;
+    private final Duration maxWait;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    // Budget state reported by GitHub, guarded by this
+    private int remaining = UNKNOWN;
+    private int limit = DEFAULT_SEARCH_LIMIT;
+    private long resetAtMillis;
+    private long pausedUntilMillis;
+    private long nextAllowedMillis;
+
+    // Core budget reported by non-search responses, guarded by this
+    private int coreRemaining = UNKNOWN;
+    private long coreResetAtMillis;
+    private long corePausedUntilMillis;
+    private int coreRejections;
+
+    @Autowired
+    public GitHubRateLimiter(
+            @Value("${github.rate-limit.pacing-threshold:5}") int pacingThreshold,
+            @Value("${github.rate-limit.max-wait:60s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this(pacingThreshold, maxWait, meterRegistry, Clock.systemUTC());
+    }
+
+    GitHubRateLimiter(int pacingThreshold, Duration maxWait, MeterRegistry meterRegistry, Clock clock) {
+        this.pacingThreshold = pacingThreshold;
+        this.maxWait = maxWait;
+        this.clock = clock;
+
+        Gauge.builder("github.ratelimit.remaining", this, GitHubRateLimiter::getRemaining)
+                .description("Remaining GitHub API budget reported by X-RateLimit-Remaining")
+                .register(meterRegistry);
+        Gauge.builder("github.ratelimit.queue.depth", queueDepth, AtomicInteger::get)
+                .description("GitHub API calls waiting for rate limit budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * WebClient filter that waits for budget before each search call and
+     * records the rate limit headers of its response
+     * Other calls are passed through without waiting; their responses are
+     * recorded as the core budget
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (!request.url().getPath().contains(SEARCH_PATH)) {
+                return next.exchange(request)
+                        .doOnNext(response -> updateCore(
+                                response.statusCode().value(), response.headers().asHttpHeaders()));
+            }
+            return acquire()
+                    .then(next.exchange(request))
+                    .doOnNext(response -> update(response.headers().asHttpHeaders()));
+        };
+    }
+
+    /**
+     * Wait until the next call fits into the rate limit budget
+     * Completes immediately while the budget is healthy; fails when the wait
+     * would exceed the configured maximum
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            Duration delay = reserve();
+            if (delay.isZero()) {
+                return Mono.empty();
+            }
+            if (delay.compareTo(maxWait) > 0) {
+                return Mono.error(new RuntimeException(
+                        "GitHub API rate limit exceeded. Please try again in " + delay.toSeconds() + " seconds."));
+            }
+
+            // Leaving the queue before the caller resumes, or when it gives up
+            queueDepth.incrementAndGet();
+            return Mono.delay(delay)
+                    .then()
+                    .doOnTerminate(queueDepth::decrementAndGet)
+                    .doOnCancel(queueDepth::decrementAndGet);
+        });
+    }
+
+    /**
+     * Reserve a slot for one call and return how long the caller must wait
+     */
+    synchronized Duration reserve() {
+        long now = clock.millis();
+        if (remaining != UNKNOWN && now >= resetAtMillis) {
+            // Budget has been refilled, wait for the next response to learn its size
+            remaining = UNKNOWN;
+        }
+
+        long slot = Math.max(now, pausedUntilMillis);
+        if (remaining == 0) {
+            // Spreading calls queued for the reset across the new window
+            slot = Math.max(Math.max(slot, resetAtMillis), nextAllowedMillis);
+            nextAllowedMillis = slot + SEARCH_WINDOW.toMillis() / limit;
+        } else if (remaining != UNKNOWN && remaining <= pacingThreshold) {
+            // Spreading the last few calls evenly until the reset
+            slot = Math.max(slot, nextAllowedMillis);
+            nextAllowedMillis = slot + Math.max(0, resetAtMillis - slot) / remaining;
+        } else if (slot < nextAllowedMillis) {
+            // Calls queued for the reset are still being spread, joining behind them
+            slot = nextAllowedMillis;
+            nextAllowedMillis = slot + SEARCH_WINDOW.toMillis() / limit;
+        }
+
+        if (remaining > 0) {
+            remaining--;
+        }
+        return Duration.ofMillis(slot - now);
+    }
+
+    /**
+     * Check whether a background call may run now without taking budget away
+     * from interactive searches
+     * Requires that no call is waiting for budget, no Retry-After pause is in
+     * effect and more than the reserved number of calls remain
+     */
+    public synchronized boolean hasBackgroundBudget(int reserve) {
+        long now = clock.millis();
+        if (queueDepth.get() > 0 || now < pausedUntilMillis) {
+            return false;
+        }
+        return remaining == UNKNOWN || now >= resetAtMillis || remaining > reserve;
+    }
+
+    /**
+     * Check whether a background call outside the search API may run now
+     * Requires that no Retry-After pause or rejection backoff is in effect and
+     * more than the reserved number of core calls remain
+     */
+    public synchronized boolean hasCoreBudget(int reserve) {
+        long now = clock.millis();
+        if (now < corePausedUntilMillis) {
+            return false;
+        }
+        return coreRemaining == UNKNOWN || now >= coreResetAtMillis || coreRemaining > reserve;
+    }
+
+    /**
+     * Record the core budget reported by a response outside the search API
+     * A rate limit rejection, a 429 or a 403 carrying Retry-After or an empty
+     * budget, pauses core calls for its Retry-After, until the reset when the
+     * budget is spent, or else for a backoff that doubles with every
+     * consecutive rejection; other 403s, such as blocked repositories, do not
+     */
+    public synchronized void updateCore(int status, HttpHeaders headers) {
+        String resource = headers.getFirst("X-RateLimit-Resource");
+        boolean tracked = resource == null || CORE_RESOURCE.equalsIgnoreCase(resource.trim());
+        Long remainingHeader = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+        Long resetHeader = parseLong(headers.getFirst("X-RateLimit-Reset"));
+        Long retryAfterHeader = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        long now = clock.millis();
+
+        if (tracked && remainingHeader != null && resetHeader != null) {
+            coreRemaining = remainingHeader.intValue();
+            coreResetAtMillis = resetHeader * 1000;
+        }
+        if (retryAfterHeader != null) {
+            corePausedUntilMillis = Math.max(corePausedUntilMillis, now + retryAfterHeader * 1000);
+        }
+
+        boolean rejected = status == 429
+                || (status == 403 && (retryAfterHeader != null || Long.valueOf(0).equals(remainingHeader)));
+        if (!rejected) {
+            if (status < 400) {
+                coreRejections = 0;
+            }
+            return;
+        }
+        coreRejections++;
+        if (retryAfterHeader == null && coreRemaining == 0 && now < coreResetAtMillis) {
+            corePausedUntilMillis = Math.max(corePausedUntilMillis, coreResetAtMillis);
+        } else if (retryAfterHeader == null) {
+            long backoff = REJECTION_BACKOFF.toMillis() << Math.min(coreRejections - 1, 10);
+            corePausedUntilMillis = Math.max(corePausedUntilMillis,
+                    now + Math.min(backoff, MAX_REJECTION_BACKOFF.toMillis()));
+        }
+    }
+
+    /**
+     * Record X-RateLimit-Remaining, X-RateLimit-Reset, X-RateLimit-Limit and
+     * Retry-After headers
+     * Budget headers of other rate limit resources are ignored
+     */
+    public synchronized void update(HttpHeaders headers) {
+        String resource = headers.getFirst("X-RateLimit-Resource");
+        boolean tracked = resource == null || TRACKED_RESOURCE.equalsIgnoreCase(resource.trim());
+        Long remainingHeader = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+        Long resetHeader = parseLong(headers.getFirst("X-RateLimit-Reset"));
+        Long retryAfterHeader = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+
+        Long limitHeader = parseLong(headers.getFirst("X-RateLimit-Limit"));
+
+        if (tracked && remainingHeader != null && resetHeader != null) {
+            remaining = remainingHeader.intValue();
+            resetAtMillis = resetHeader * 1000;
+        }
+        if (tracked && limitHeader != null && limitHeader > 0) {
+            limit = limitHeader.intValue();
+        }
+        if (retryAfterHeader != null) {
+            pausedUntilMillis = Math.max(pausedUntilMillis, clock.millis() + retryAfterHeader * 1000);
+        }
+    }
+
+    public synchronized int getRemaining() {
+        return remaining;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    private Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of GitHub search responses keyed by request URL
+ * Keeps the ETag and Last-Modified validators of each response so repeated
+ * searches can be revalidated with conditional requests; a 304 reuses the
+ * cached decoded items instead of downloading and decoding them again
+ */
+@Component
+public class GitHubResponseCache {
+
+    private final Cache<String, CachedResponse> cache;
+
+    public GitHubResponseCache(
+            @Value("${github.cache.upstream.maximum-size:200}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gitHubResponses");
+    }
+
+    /**
+     * Return the cached response for the URL, or null when none is stored
+     */
+    public CachedResponse get(String url) {
+        return cache.getIfPresent(url);
+    }
+
+    /**
+     * Store a response if GitHub returned at least one validator for it
+     */
+    public void put(String url, String etag, String lastModified, GitHubSearchDecoder.SearchPage response) {
+        if (etag == null && lastModified == null) {
+            return;
+        }
+        cache.put(url, new CachedResponse(etag, lastModified, response));
+    }
+
+    /**
+     * Forget every stored response, so the next searches download in full
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cached upstream response with its revalidation headers
+     */
+    public record CachedResponse(String etag, String lastModified, GitHubSearchDecoder.SearchPage response) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder for GitHub search and repository response bodies
+ * Walks the items array token by token and builds each RepositoryDto directly,
+ * without materializing GitHubSearchResponse, GitHubRepository and GitHubOwner
+ * objects first. Fields the service does not use, including nested objects
+ * such as license and the owner's profile URLs, are skipped without being
+ * turned into Java objects
+ */
+@Component
+public class GitHubSearchDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final RepositoryMapper repositoryMapper;
+
+    public GitHubSearchDecoder(ObjectMapper objectMapper, RepositoryMapper repositoryMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.repositoryMapper = repositoryMapper;
+    }
+
+    /**
+     * Decode a search response body into its total count and repository DTOs
+     * Items without an id are dropped since they cannot be stored
+     */
+    public SearchPage decode(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a GitHub search response object");
+            }
+
+            Integer totalCount = null;
+            List<RepositoryDto> items = List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("total_count".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    totalCount = parser.getIntValue();
+                } else if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    items = readItems(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new SearchPage(totalCount, items);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode GitHub search response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode a single repository body, as returned by GET /repositories/{id}
+     * Returns null when the body carries no repository id
+     */
+    public RepositoryDto decodeRepository(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a GitHub repository object");
+            }
+            RepositoryDto repository = readItem(parser);
+            return repository.getId() != null ? repository : null;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode GitHub repository response: " + e.getMessage(), e);
+        }
+    }
+
+    private List<RepositoryDto> readItems(JsonParser parser) throws IOException {
+        List<RepositoryDto> items = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            RepositoryDto item = readItem(parser);
+            if (item.getId() != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Read one repository object, applying the same defaults as RepositoryMapper
+     */
+    private RepositoryDto readItem(JsonParser parser) throws IOException {
+        Long id = null;
+        String name = null;
+        String description = null;
+        String owner = null;
+        String language = null;
+        Integer stars = null;
+        Integer forks = null;
+        String updatedAt = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "name" -> name = stringValue(parser);
+                case "description" -> description = stringValue(parser);
+                case "language" -> language = stringValue(parser);
+                case "stargazers_count" -> stars = intValue(parser);
+                case "forks_count" -> forks = intValue(parser);
+                case "updated_at" -> updatedAt = stringValue(parser);
+                case "owner" -> owner = readOwnerLogin(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new RepositoryDto(
+                id,
+                name,
+                description,
+                owner != null ? owner : "Unknown",
+                language,
+                stars != null ? stars : 0,
+                forks != null ? forks : 0,
+                repositoryMapper.parseTimestamp(updatedAt));
+    }
+
+    private String readOwnerLogin(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String login = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("login".equals(field)) {
+                login = stringValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return login;
+    }
+
+    private String stringValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private Integer intValue(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getIntValue();
+    }
+
+    /**
+     * Decoded search result page
+     */
+    public record SearchPage(Integer totalCount, List<RepositoryDto> items) {
+
+        public static final SearchPage EMPTY = new SearchPage(0, List.of());
+    }
+}
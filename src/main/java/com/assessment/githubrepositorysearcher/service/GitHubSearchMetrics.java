@@ -0,0 +1,150 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Observations for every stage of a GitHub search
+ * Each search is a github.search observation with one github.search.stage child
+ * per stage (url_build, upstream, decode, map, persist, response), tagged by
+ * outcome and, for the upstream call, HTTP status. Observations become timers
+ * and, when tracing is enabled, spans; written rows are counted per operation
+ * and write source, so rows of the background refresh are not counted as
+ * search writes
+ */
+@Component
+public class GitHubSearchMetrics {
+
+    public static final String SEARCH = "github.search";
+    public static final String STAGE = "github.search.stage";
+
+    private static final String NO_STATUS = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<Source, Counter> insertedCounters = new EnumMap<>(Source.class);
+    private final Map<Source, Counter> updatedCounters = new EnumMap<>(Source.class);
+
+    public GitHubSearchMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        for (Source source : Source.values()) {
+            insertedCounters.put(source, persistedCounter(meterRegistry, "insert", source));
+            updatedCounters.put(source, persistedCounter(meterRegistry, "update", source));
+        }
+    }
+
+    /**
+     * Observe a whole search pipeline
+     * The search observation is handed to the pipeline as parent of its stages
+     */
+    public <T> Mono<T> observeSearch(Function<Observation, Mono<T>> search) {
+        return Mono.defer(() -> {
+            Observation observation = Observation.createNotStarted(SEARCH, observationRegistry)
+                    .contextualName("github search")
+                    .lowCardinalityKeyValue("outcome", "unknown")
+                    .start();
+            // Stopping before the result is emitted so callers observe a recorded timer
+            return search.apply(observation)
+                    .doOnSuccess(result -> observation.lowCardinalityKeyValue("outcome", "success").stop())
+                    .doOnError(e -> observation.lowCardinalityKeyValue("outcome", "error").error(e).stop())
+                    .doOnCancel(() -> observation.lowCardinalityKeyValue("outcome", "cancelled").stop());
+        });
+    }
+
+    /**
+     * Observe a synchronous stage
+     */
+    public <T> T observeStage(String stage, Observation parent, Supplier<T> body) {
+        Observation observation = stage(stage, parent).start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = body.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "error").error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Observe one upstream GitHub call, tagging it with the response status
+     */
+    public <T> Mono<ResponseEntity<T>> observeUpstream(Observation parent, Supplier<Mono<ResponseEntity<T>>> call) {
+        return Mono.defer(() -> {
+            Observation observation = stage("upstream", parent).start();
+            return call.get()
+                    .doOnSuccess(entity -> observation
+                            .lowCardinalityKeyValue("status", entity != null
+                                    ? String.valueOf(entity.getStatusCode().value())
+                                    : NO_STATUS)
+                            .lowCardinalityKeyValue("outcome", "success")
+                            .stop())
+                    .doOnError(e -> observation
+                            .lowCardinalityKeyValue("status", statusOf(e))
+                            .lowCardinalityKeyValue("outcome", "error")
+                            .error(e)
+                            .stop())
+                    .doOnCancel(() -> observation.lowCardinalityKeyValue("outcome", "cancelled").stop());
+        });
+    }
+
+    /**
+     * Count committed inserts and updates per row, by write source
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepositoriesChanged(RepositoriesChangedEvent event) {
+        Counter inserted = insertedCounters.get(event.getSource());
+        Counter updated = updatedCounters.get(event.getSource());
+        for (RepositoryChange change : event.getChanges()) {
+            if (change.isInsert()) {
+                inserted.increment();
+            } else {
+                updated.increment();
+            }
+        }
+    }
+
+    /**
+     * Stage observation; every stage carries the same tag keys so the timers
+     * can be exported as a single Prometheus metric
+     */
+    private Observation stage(String stage, Observation parent) {
+        return Observation.createNotStarted(STAGE, observationRegistry)
+                .contextualName("github search " + stage)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("stage", stage)
+                .lowCardinalityKeyValue("status", NO_STATUS)
+                .lowCardinalityKeyValue("outcome", "unknown");
+    }
+
+    private Counter persistedCounter(MeterRegistry meterRegistry, String operation, Source source) {
+        return Counter.builder("github.repositories.persisted")
+                .description("Repositories written to the database")
+                .tag("operation", operation)
+                .tag("source", source.tagValue())
+                .register(meterRegistry);
+    }
+
+    private String statusOf(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return String.valueOf(responseException.getStatusCode().value());
+        }
+        return NO_STATUS;
+    }
+}
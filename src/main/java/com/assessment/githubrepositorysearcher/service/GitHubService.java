@@ -2,68 +2,291 @@ package com.assessment.githubrepositorysearcher.service;
 
 import com.assessment.githubrepositorysearcher.dto.*;
 import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.exception.GitHubUnavailableException;
 import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.repository.RepositorySpecifications;
+import io.micrometer.observation.Observation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
 public class GitHubService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_MAX_RESULTS = 30;
+    private static final int GITHUB_MAX_PER_PAGE = 100;
+    private static final int MAX_TEXT_QUERY_LENGTH = 256;
+    private static final int MAX_BATCH_SIZE = 100;
+
     @Value("${github.api.base-url}")
     private String gitHubApiBaseUrl;
 
     @Value("${github.api.search-endpoint}")
     private String searchEndpoint;
 
+    @Value("${github.api.page-parallelism:4}")
+    private int pageParallelism;
+
+    @Value("${github.api.batch-parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${github.api.batch-max-pages:100}")
+    private int batchMaxPages;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Value("${github.rate-limit.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${github.rate-limit.min-backoff:1s}")
+    private Duration minBackoff;
+
     @Autowired
     private RepositoryRepository repositoryRepository;
 
     @Autowired
-    private WebClient.Builder webClientBuilder;
+    private WebClient gitHubWebClient;
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private Scheduler persistenceScheduler;
+
+    @Autowired
+    private RepositoryQueryCache queryCache;
+
+    @Autowired
+    private GitHubResponseCache responseCache;
+
+    @Autowired
+    private RepositoryMapper repositoryMapper;
+
+    @Autowired
+    private SearchCoalescer searchCoalescer;
+
+    @Autowired
+    private GitHubSearchDecoder gitHubSearchDecoder;
+
+    @Autowired
+    private GitHubSearchMetrics searchMetrics;
+
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private RepositoryIndex repositoryIndex;
 
     /**
      * Search GitHub repositories and save results to database
      * Calls GitHub API, processes response, and stores repositories with
      * deduplication
+     * Identical concurrent searches share a single upstream call
      * 
      */
     public SearchResponse searchAndSaveRepositories(SearchRequest searchRequest) {
         try {
-            // Building GitHub API URL
-            String url = buildGitHubApiUrl(searchRequest);
+            return coalescedSearch(searchRequest).block();
 
-            // Calling GitHub API
-            GitHubSearchResponse gitHubResponse = callGitHubApi(url);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to search GitHub repositories: " + e.getMessage(), e);
+        }
+    }
 
-            // Converting and save repositories
-            List<Repository> repositories = convertAndSaveRepositories(gitHubResponse);
+    /**
+     * Search GitHub repositories and save results to database without blocking
+     * The GitHub call runs on the non-blocking WebClient and the persistence
+     * step is moved to the persistence scheduler, so the calling request thread
+     * is released as soon as the Mono is returned
+     */
+    public Mono<SearchResponse> searchAndSaveRepositoriesAsync(SearchRequest searchRequest) {
+        return coalescedSearch(searchRequest)
+                .onErrorMap(e -> new RuntimeException("Failed to search GitHub repositories: " + e.getMessage(), e));
+    }
 
-            // Converting to DTOs
-            List<RepositoryDto> repositoryDtos = repositories.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+    /**
+     * Run many GitHub searches in one call and save all their results at once
+     * Searches run concurrently up to the batch parallelism, each paging like a
+     * single search, through the shared rate limited WebClient; a failed search
+     * is reported in its own result without failing the others
+     * Repositories found by several searches are written once, and everything
+     * the batch found is saved with a single batched upsert in one transaction
+     * A batch whose searches could need more result pages than the configured
+     * limit is rejected before any call, so one request cannot use up the
+     * GitHub search budget
+     * The whole batch is observed as one search
+     */
+    public BatchSearchResponse searchAndSaveBatch(List<SearchRequest> searchRequests) {
+        try {
 
-            return new SearchResponse(
-                    "Repositories fetched and saved successfully",
-                    repositoryDtos);
+            // Validating batch size
+            if (searchRequests == null || searchRequests.isEmpty()) {
+                throw new IllegalArgumentException("Batch must contain at least one search");
+            }
+            if (searchRequests.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch cannot exceed " + MAX_BATCH_SIZE + " searches");
+            }
+            int totalPages = searchRequests.stream().mapToInt(this::pageCount).sum();
+            if (totalPages > batchMaxPages) {
+                throw new IllegalArgumentException("Batch needs up to " + totalPages
+                        + " GitHub result pages and cannot exceed " + batchMaxPages);
+            }
 
+            return searchMetrics.observeSearch(observation -> Flux.fromIterable(searchRequests)
+                            .flatMapSequential(searchRequest -> fetchPages(searchRequest, observation)
+                                    .collectList()
+                                    .map(pages -> new BatchFetch(searchRequest, pages, null))
+                                    .onErrorResume(e -> Mono.just(new BatchFetch(searchRequest, null, e.getMessage()))),
+                                    batchParallelism)
+                            .collectList()
+                            .publishOn(persistenceScheduler)
+                            .map(fetches -> saveBatch(fetches, observation)))
+                    .block();
+
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to search GitHub repositories: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Run the search pipeline, joining an identical search already in flight
+     * Every stage of the pipeline is observed as a child of the search
+     * When GitHub is unavailable the most recently refreshed stored matches are
+     * served instead, flagged as stale
+     */
+    private Mono<SearchResponse> coalescedSearch(SearchRequest searchRequest) {
+        return searchCoalescer.coalesce(
+                SearchCoalescer.SearchKey.of(searchRequest, DEFAULT_MAX_RESULTS),
+                () -> searchMetrics.observeSearch(observation -> {
+                            WriteCounts counts = new WriteCounts();
+                            return fetchAndSaveRepositories(searchRequest, counts, observation)
+                                    .map(repositoryDtos -> searchMetrics.observeStage("response", observation,
+                                            () -> buildSearchResponse(repositoryDtos, counts)));
+                        })
+                        .onErrorResume(GitHubUnavailableException.class, e -> Mono
+                                .fromCallable(() -> loadStaleSearchResponse(searchRequest, e))
+                                .subscribeOn(persistenceScheduler)));
+    }
+
+    /**
+     * Serve a search from stored repositories while GitHub is unavailable
+     * Returns up to maxResults stored repositories matching the query keywords
+     * and language. Keywords are matched by the repository index when it is
+     * ready, else by the full-text search on PostgreSQL, both ranked by
+     * relevance; only other databases fall back to a substring scan. Without
+     * keywords the most recently refreshed repositories come first
+     */
+    private SearchResponse loadStaleSearchResponse(SearchRequest searchRequest, GitHubUnavailableException e) {
+        int limit = maxResults(searchRequest);
+        List<String> keywords = RepositorySpecifications.queryKeywords(searchRequest.getQuery());
+        String language = searchRequest.getLanguage();
+        language = language != null && !language.trim().isEmpty() ? language.trim() : null;
+
+        List<RepositoryDto> repositoryDtos;
+        if (!keywords.isEmpty() && repositoryIndex.isReady()) {
+            repositoryDtos = repositoryIndex
+                    .query(String.join(" ", keywords), language, null, "updated", 0, limit)
+                    .repositories();
+        } else {
+            List<Repository> repositories;
+            if (!keywords.isEmpty() && isPostgreSql()) {
+                repositories = repositoryRepository.searchFullText(
+                        String.join(" ", keywords), language, null, "updated", limit, 0);
+            } else {
+                Specification<Repository> specification = RepositorySpecifications
+                        .matchingQuery(searchRequest.getQuery())
+                        .and(RepositorySpecifications.withFilters(language, null));
+                repositories = repositoryRepository.findBy(specification, query -> query
+                        .sortBy(Sort.by(Sort.Direction.DESC, "updatedAt", "id"))
+                        .limit(limit)
+                        .all());
+            }
+
+            // Converting to DTOs
+            repositoryDtos = repositories.stream()
+                    .map(repositoryMapper::toDto)
+                    .collect(Collectors.toList());
+        }
+
+        SearchResponse response = new SearchResponse(
+                e.getMessage() + " Serving stored repositories, which may be out of date.",
+                repositoryDtos);
+        response.setStale(true);
+        return response;
+    }
+
+    /**
+     * Fetch all requested result pages from GitHub and save them as they arrive
+     * Each page is persisted on the persistence scheduler as soon as it is next
+     * in line. Repositories repeated across pages are kept only once, and the
+     * page reaching maxResults is cut before it is persisted
+     * Write outcomes of every page are added up in the given counts
+     */
+    private Mono<List<RepositoryDto>> fetchAndSaveRepositories(SearchRequest searchRequest, WriteCounts counts,
+            Observation observation) {
+        int maxResults = maxResults(searchRequest);
+        Set<Long> seenIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger remaining = new AtomicInteger(maxResults);
+
+        return fetchPages(searchRequest, observation)
+                .publishOn(persistenceScheduler)
+                .map(upstreamResponse -> convertAndSaveRepositories(upstreamResponse, seenIds, remaining, counts,
+                        observation))
+                .flatMapIterable(repositories -> repositories)
+                .take(maxResults)
+                .collectList();
+    }
+
+    /**
+     * Fetch the result pages of a search from GitHub
+     * Up to maxResults results are fetched with per_page=100; pages are requested
+     * concurrently up to the configured parallelism but emitted in page order
+     */
+    private Flux<UpstreamResponse> fetchPages(SearchRequest searchRequest, Observation observation) {
+        int perPage = Math.min(maxResults(searchRequest), GITHUB_MAX_PER_PAGE);
+        int pages = pageCount(searchRequest);
+
+        return Flux.range(1, pages)
+                .flatMapSequential(page -> Mono.fromCallable(() -> searchMetrics.observeStage("url_build", observation,
+                                () -> buildGitHubApiUrl(searchRequest, page, perPage)))
+                        .flatMap(url -> callGitHubApiAsync(url, observation)), pageParallelism)
+                // Stopping after the first short page, GitHub has no more results
+                .takeUntil(upstreamResponse -> itemCount(upstreamResponse) < perPage);
+    }
+
     /**
      * Retrieve stored repositories with optional filtering and sorting
      * Fetches repositories from database with support for language and star
-     * filtering
+     * filtering; results are served from the in-process index when it is
+     * enabled and warmed up, otherwise from the query cache when possible
      */
     public RepositoryListResponse getStoredRepositories(String language, Integer minStars, String sort) {
         try {
@@ -78,28 +301,222 @@ public class GitHubService {
                 throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
             }
 
-            // Getting repositories from database
-            List<Repository> repositories = repositoryRepository.findRepositoriesWithFilters(
-                    language, minStars, sort);
+            if (repositoryIndex.isReady()) {
+                return new RepositoryListResponse(repositoryIndex
+                        .query(null, language, minStars, sort, 0, Integer.MAX_VALUE)
+                        .repositories());
+            }
+
+            RepositoryQueryCache.QueryKey key = new RepositoryQueryCache.QueryKey(language, minStars, sort);
+            return queryCache.get(key, () -> loadStoredRepositories(key));
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to retrieve stored repositories: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieve one stored repository by its GitHub id
+     * Served from the repository cache when possible, so repeated lookups on
+     * any instance avoid the database
+     *
+     * @return the repository, or null when it is not stored
+     */
+    public RepositoryDto getStoredRepository(Long id) {
+        try {
+
+            return queryCache.getById(id, key -> repositoryRepository.findById(key)
+                    .map(repositoryMapper::toDto)
+                    .orElse(null));
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to retrieve stored repository: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieve one page of stored repositories with optional filtering and sorting
+     * Uses keyset pagination on (sort column, id) by default, continuing after the
+     * given cursor, and offset pagination when a page number is given; offset
+     * pages are served from the in-process index when it is ready
+     * Without any paging parameter the full filtered list is returned
+     */
+    public RepositoryListResponse getStoredRepositories(String language, Integer minStars, String sort,
+            Integer page, Integer size, String after) {
+        if (page == null && size == null && after == null) {
+            return getStoredRepositories(language, minStars, sort);
+        }
+
+        try {
+
+            // Setting default as sort if not provided
+            if (sort == null || sort.trim().isEmpty()) {
+                sort = "stars";
+            }
+
+            // Validating sort and paging parameters
+            if (!isValidSortParameter(sort)) {
+                throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
+            }
+            int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Invalid size parameter. Must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            if (page != null && page < 0) {
+                throw new IllegalArgumentException("Invalid page parameter. Must not be negative");
+            }
+            if (page != null && page > Integer.MAX_VALUE / pageSize) {
+                throw new IllegalArgumentException("Invalid page parameter. Must be at most "
+                        + Integer.MAX_VALUE / pageSize + " for size " + pageSize);
+            }
+            if (page != null && after != null) {
+                throw new IllegalArgumentException("Use either 'page' or 'after', not both");
+            }
+
+            Specification<Repository> specification = RepositorySpecifications.withFilters(language, minStars);
+            Sort order = RepositorySpecifications.sortFor(sort);
+
+            List<Repository> repositories;
+            Long totalElements = null;
+            boolean hasNext;
+
+            if (page != null && repositoryIndex.isReady()) {
+                // Offset pagination from the index
+                int offset = page * pageSize;
+                RepositoryIndex.Result result = repositoryIndex.query(
+                        null, language, minStars, sort, offset, pageSize);
+                List<RepositoryDto> rows = result.repositories();
+                String nextCursor = offset + rows.size() < result.totalMatches()
+                        ? RepositoryCursor.encode(sort, rows.get(rows.size() - 1))
+                        : null;
+                return new RepositoryListResponse(rows, nextCursor, (long) result.totalMatches());
+            }
+
+            if (page != null) {
+                // Offset pagination
+                Page<Repository> result = repositoryRepository.findAll(
+                        specification, PageRequest.of(page, pageSize, order));
+                repositories = result.getContent();
+                totalElements = result.getTotalElements();
+                hasNext = result.hasNext();
+            } else {
+                // Keyset pagination, fetching one extra row to detect the next page
+                if (after != null) {
+                    specification = specification.and(RepositoryCursor.decode(sort, after).toSpecification());
+                }
+                List<Repository> rows = repositoryRepository.findBy(specification,
+                        query -> query.sortBy(order).limit(pageSize + 1).all());
+                hasNext = rows.size() > pageSize;
+                repositories = hasNext ? rows.subList(0, pageSize) : rows;
+            }
+
+            String nextCursor = hasNext
+                    ? RepositoryCursor.encode(sort, repositories.get(repositories.size() - 1))
+                    : null;
+
+            // Converting to DTOs
+            List<RepositoryDto> repositoryDtos = repositories.stream()
+                    .map(repositoryMapper::toDto)
+                    .collect(Collectors.toList());
+
+            return new RepositoryListResponse(repositoryDtos, nextCursor, totalElements);
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to retrieve stored repositories: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Full-text search over stored repositories with optional filtering
+     * Matches name, owner and description through the search_vector GIN index
+     * and orders matches by relevance, then by the sort column; results are
+     * paged with page/size offsets since relevance has no stable keyset
+     * When the in-process index is ready it answers instead, requiring every
+     * keyword and ranking name and owner hits above description hits
+     */
+    public RepositoryListResponse searchStoredRepositories(String q, String language, Integer minStars,
+            String sort, Integer page, Integer size, String after) {
+        try {
+
+            // Setting default as sort if not provided
+            if (sort == null || sort.trim().isEmpty()) {
+                sort = "stars";
+            }
+
+            // Validating query, sort and paging parameters
+            if (q == null || q.trim().isEmpty()) {
+                throw new IllegalArgumentException("Search text 'q' must not be blank");
+            }
+            if (q.length() > MAX_TEXT_QUERY_LENGTH) {
+                throw new IllegalArgumentException("Search text 'q' must be at most " + MAX_TEXT_QUERY_LENGTH
+                        + " characters");
+            }
+            if (!isValidSortParameter(sort)) {
+                throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
+            }
+            if (after != null) {
+                throw new IllegalArgumentException("Use 'page' to page through 'q' results, not 'after'");
+            }
+            int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Invalid size parameter. Must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            int pageNumber = page != null ? page : 0;
+            if (pageNumber < 0) {
+                throw new IllegalArgumentException("Invalid page parameter. Must not be negative");
+            }
+            if (pageNumber > Integer.MAX_VALUE / pageSize) {
+                throw new IllegalArgumentException("Invalid page parameter. Must be at most "
+                        + Integer.MAX_VALUE / pageSize + " for size " + pageSize);
+            }
+
+            if (repositoryIndex.isReady()) {
+                return new RepositoryListResponse(repositoryIndex
+                        .query(q, language, minStars, sort, pageNumber * pageSize, pageSize)
+                        .repositories());
+            }
+
+            List<Repository> repositories = repositoryRepository.searchFullText(
+                    q.trim(), language, minStars, sort, pageSize, pageNumber * pageSize);
 
             // Converting to DTOs
             List<RepositoryDto> repositoryDtos = repositories.stream()
-                    .map(this::convertToDto)
+                    .map(repositoryMapper::toDto)
                     .collect(Collectors.toList());
 
             return new RepositoryListResponse(repositoryDtos);
 
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to retrieve stored repositories: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to search stored repositories: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Load stored repositories for a query from the database
+     */
+    private RepositoryListResponse loadStoredRepositories(RepositoryQueryCache.QueryKey key) {
+        // Getting repositories from database
+        List<Repository> repositories = repositoryRepository.findRepositoriesWithFilters(
+                key.language(), key.minStars(), key.sort());
+
+        // Converting to DTOs
+        List<RepositoryDto> repositoryDtos = repositories.stream()
+                .map(repositoryMapper::toDto)
+                .collect(Collectors.toList());
+
+        return new RepositoryListResponse(repositoryDtos);
+    }
+
     /**
      * Build GitHub API search URL with query parameters
      * Constructs URL with search query, language filter, sort criteria, and
      * pagination
      */
-    private String buildGitHubApiUrl(SearchRequest searchRequest) {
+    private String buildGitHubApiUrl(SearchRequest searchRequest, int page, int perPage) {
         StringBuilder urlBuilder = new StringBuilder(gitHubApiBaseUrl + searchEndpoint);
         urlBuilder.append("?q=").append(searchRequest.getQuery());
 
@@ -111,134 +528,301 @@ public class GitHubService {
             urlBuilder.append("&sort=").append(searchRequest.getSort());
         }
 
-        urlBuilder.append("&per_page=30"); // Limit results
+        urlBuilder.append("&per_page=").append(perPage);
+        urlBuilder.append("&page=").append(page);
 
         return urlBuilder.toString();
     }
 
     /**
-     * Call GitHub API and handle common error scenarios
-     * Makes HTTP request to GitHub search API with proper error handling for rate
-     * limits
+     * Call GitHub API without blocking the caller
+     * Revalidates previously seen URLs with If-None-Match / If-Modified-Since;
+     * a 304 reuses the cached response. A new response carries its validators,
+     * which are stored only once its repositories have been saved
+     * Rate limited calls are retried with exponential backoff and jitter; the
+     * rate limiter holds each retry back until GitHub's budget allows it
+     * The body is decoded by the streaming decoder straight into DTOs
+     * Returns a Mono that emits the search response or a translated error
      */
-    private GitHubSearchResponse callGitHubApi(String url) {
-        try {
-
-            WebClient webClient = webClientBuilder.build();
+    private Mono<UpstreamResponse> callGitHubApiAsync(String url, Observation observation) {
+        return Mono.defer(() -> {
+                    GitHubResponseCache.CachedResponse cached = responseCache.get(url);
+
+                    return searchMetrics.observeUpstream(observation, () -> gitHubWebClient
+                                    .get()
+                                    .uri(url)
+                                    .headers(headers -> addConditionalHeaders(headers, cached))
+                                    .retrieve()
+                                    .toEntity(byte[].class))
+                            .map(entity -> {
+                                if (entity.getStatusCode().value() == 304 && cached != null) {
+                                    return new UpstreamResponse(url, cached.response(), true, null, null);
+                                }
+
+                                GitHubSearchDecoder.SearchPage page = entity.getBody() != null
+                                        ? searchMetrics.observeStage("decode", observation,
+                                                () -> gitHubSearchDecoder.decode(entity.getBody()))
+                                        : GitHubSearchDecoder.SearchPage.EMPTY;
+                                return new UpstreamResponse(url, page, false,
+                                        entity.getHeaders().getETag(),
+                                        entity.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+                            });
+                })
+                .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                        .jitter(0.5)
+                        .filter(this::isRateLimited)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorMap(this::translateGitHubError);
+    }
 
-            return webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(GitHubSearchResponse.class)
-                    .block();
+    /**
+     * Add revalidation headers from a cached response, if there is one
+     */
+    private void addConditionalHeaders(HttpHeaders headers, GitHubResponseCache.CachedResponse cached) {
+        if (cached == null) {
+            return;
+        }
+        if (cached.etag() != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+    }
 
-        } catch (WebClientResponseException e) {
+    /**
+     * Check whether a failure is GitHub rejecting the call for rate limiting
+     * Primary limits answer 403 with an exhausted X-RateLimit-Remaining,
+     * secondary limits answer 403 or 429 with Retry-After
+     */
+    private boolean isRateLimited(Throwable e) {
+        if (!(e instanceof WebClientResponseException responseException)) {
+            return false;
+        }
+        int status = responseException.getStatusCode().value();
+        HttpHeaders headers = responseException.getHeaders();
+        return status == 429
+                || (status == 403 && ("0".equals(headers.getFirst("X-RateLimit-Remaining"))
+                        || headers.getFirst(HttpHeaders.RETRY_AFTER) != null));
+    }
 
-            if (e.getStatusCode().value() == 403) {
-                throw new RuntimeException("GitHub API rate limit exceeded. Please try again later.");
-            } else if (e.getStatusCode().value() == 422) {
-                throw new RuntimeException("Invalid search query. Please check your search parameters.");
+    /**
+     * Translate WebClient failures into user facing error messages
+     * Failures meaning GitHub could not answer, rejected calls, transport
+     * errors, timeouts and 5xx responses, become GitHubUnavailableException
+     */
+    private Throwable translateGitHubError(Throwable e) {
+        if (GitHubCircuitBreaker.isRejection(e)) {
+            return new GitHubUnavailableException("GitHub API is unavailable: " + e.getMessage() + ".", e);
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            if (responseException.getStatusCode().value() == 403 || responseException.getStatusCode().value() == 429) {
+                return new RuntimeException("GitHub API rate limit exceeded. Please try again later.");
+            } else if (responseException.getStatusCode().value() == 422) {
+                return new RuntimeException("Invalid search query. Please check your search parameters.");
+            } else if (responseException.getStatusCode().is5xxServerError()) {
+                return new GitHubUnavailableException(
+                        "GitHub API call failed: " + responseException.getMessage(), e);
             } else {
-                throw new RuntimeException("GitHub API call failed: " + e.getMessage());
+                return new RuntimeException("GitHub API call failed: " + responseException.getMessage());
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to call GitHub API: " + e.getMessage(), e);
         }
+        if (e instanceof WebClientRequestException) {
+            return new GitHubUnavailableException("Failed to call GitHub API: " + e.getMessage(), e);
+        }
+        return new RuntimeException("Failed to call GitHub API: " + e.getMessage(), e);
     }
 
     /**
-     * Convert GitHub API response to entities and save to database
-     * Processes each repository from the API response and handles save/update logic
+     * Save the repositories of a decoded GitHub page to the database
+     * Builds an entity for every decoded repository and hands them to the
+     * persistence service as a single batched upsert, or to the write-behind
+     * queue when enabled; the write is skipped when GitHub confirmed the items
+     * are unchanged
+     * Repositories whose id was already seen on an earlier page are dropped,
+     * and only as many new ones as remain of maxResults are kept
+     * Every repository of a page GitHub confirmed unchanged counts as unchanged;
+     * counts become unknown once writes go through the write-behind queue
+     * The page's validators are stored once its repositories were saved, unless
+     * it was cut short
+     * Returns the decoded DTOs, which are served to the caller as they are
      */
-    private List<Repository> convertAndSaveRepositories(GitHubSearchResponse gitHubResponse) {
-        if (gitHubResponse == null || gitHubResponse.getItems() == null) {
-            return List.of();
+    private List<RepositoryDto> convertAndSaveRepositories(UpstreamResponse upstreamResponse, Set<Long> seenIds,
+            AtomicInteger remaining, WriteCounts counts, Observation observation) {
+        List<RepositoryDto> repositoryDtos = new ArrayList<>();
+        boolean truncated = false;
+        for (RepositoryDto dto : upstreamResponse.page().items()) {
+            if (seenIds.contains(dto.getId())) {
+                continue;
+            }
+            if (remaining.get() == 0) {
+                truncated = true;
+                break;
+            }
+            seenIds.add(dto.getId());
+            repositoryDtos.add(dto);
+            remaining.decrementAndGet();
         }
 
-        return gitHubResponse.getItems().stream()
-                .map(this::convertToEntity)
-                .map(this::saveOrUpdateRepository)
-                .collect(Collectors.toList());
+        if (upstreamResponse.notModified()) {
+            counts.unchanged.addAndGet(repositoryDtos.size());
+        } else {
+            persistRepositories(repositoryDtos, counts, observation);
+            // A 304 for a page saved only in part would skip its unsaved items
+            if (!truncated) {
+                storeValidators(upstreamResponse);
+            }
+        }
+
+        return repositoryDtos;
     }
 
     /**
-     * Convert GitHub API repository object to database entity
-     * Maps GitHub response fields to internal entity with null safety and timestamp
-     * parsing
+     * Save the results of a batch of searches with a single upsert
+     * Keeps each search's results in page order, deduplicated and capped at its
+     * maxResults, then writes every distinct repository found on a modified
+     * page at once; repositories only seen on pages GitHub confirmed unchanged
+     * count as unchanged without being written
+     * Validators are stored after the write, for pages saved in full
      */
-    private Repository convertToEntity(GitHubRepository gitHubRepo) {
-        Repository repository = new Repository();
-        repository.setId(gitHubRepo.getId());
-        repository.setName(gitHubRepo.getName());
-        repository.setDescription(gitHubRepo.getDescription());
-        repository.setOwner(gitHubRepo.getOwner() != null ? gitHubRepo.getOwner().getLogin() : "Unknown");
-        repository.setLanguage(gitHubRepo.getLanguage());
-        repository.setStars(gitHubRepo.getStargazersCount() != null ? gitHubRepo.getStargazersCount() : 0);
-        repository.setForks(gitHubRepo.getForksCount() != null ? gitHubRepo.getForksCount() : 0);
+    private BatchSearchResponse saveBatch(List<BatchFetch> fetches, Observation observation) {
+        List<BatchSearchResult> results = new ArrayList<>(fetches.size());
+        Map<Long, RepositoryDto> modified = new LinkedHashMap<>();
+        Set<Long> notModified = new HashSet<>();
+        List<UpstreamResponse> savedPages = new ArrayList<>();
+        int failed = 0;
+
+        for (BatchFetch fetch : fetches) {
+            String query = fetch.searchRequest().getQuery();
+            if (fetch.error() != null) {
+                results.add(new BatchSearchResult(query, null, fetch.error()));
+                failed++;
+                continue;
+            }
 
-        // Parse updated_at timestamp
-        if (gitHubRepo.getUpdatedAt() != null) {
-            try {
-                LocalDateTime lastUpdated = LocalDateTime.parse(
-                        gitHubRepo.getUpdatedAt(),
-                        DateTimeFormatter.ISO_DATE_TIME);
-                repository.setLastUpdated(lastUpdated);
-            } catch (Exception e) {
-                repository.setLastUpdated(LocalDateTime.now());
+            int maxResults = maxResults(fetch.searchRequest());
+            Set<Long> seenIds = new HashSet<>();
+            List<RepositoryDto> repositoryDtos = new ArrayList<>();
+            for (UpstreamResponse upstreamResponse : fetch.pages()) {
+                boolean truncated = false;
+                for (RepositoryDto dto : upstreamResponse.page().items()) {
+                    if (seenIds.contains(dto.getId())) {
+                        continue;
+                    }
+                    if (repositoryDtos.size() >= maxResults) {
+                        truncated = true;
+                        break;
+                    }
+                    seenIds.add(dto.getId());
+                    repositoryDtos.add(dto);
+                    if (upstreamResponse.notModified()) {
+                        notModified.add(dto.getId());
+                    } else {
+                        modified.put(dto.getId(), dto);
+                    }
+                }
+                // A 304 for a page saved only in part would skip its unsaved items
+                if (!truncated) {
+                    savedPages.add(upstreamResponse);
+                }
             }
-        } else {
-            repository.setLastUpdated(LocalDateTime.now());
+            results.add(new BatchSearchResult(query, repositoryDtos, null));
         }
 
-        return repository;
+        WriteCounts counts = new WriteCounts();
+        notModified.removeAll(modified.keySet());
+        counts.unchanged.addAndGet(notModified.size());
+        if (!modified.isEmpty()) {
+            persistRepositories(new ArrayList<>(modified.values()), counts, observation);
+        }
+        savedPages.forEach(this::storeValidators);
+
+        String message = failed == 0
+                ? "Repositories fetched and saved successfully"
+                : failed + " of " + fetches.size() + " searches failed, results of the others were saved";
+        return searchMetrics.observeStage("response", observation, () -> counts.known
+                ? new BatchSearchResponse(message, results,
+                        counts.inserted.get(), counts.updated.get(), counts.unchanged.get())
+                : new BatchSearchResponse(message, results));
     }
 
     /**
-     * Save new repository or update existing one in database
-     * Implements upsert logic to handle duplicate repositories from GitHub API
-     * Updates existing repositories with latest data while preserving database
-     * timestamps
+     * Map decoded repositories to entities and save them with one batched
+     * upsert, or hand them to the write-behind queue when enabled
      */
-    private Repository saveOrUpdateRepository(Repository repository) {
-        try {
-            // Checking if repository already exists
-            if (repositoryRepository.existsById(repository.getId())) {
-                Repository existingRepo = repositoryRepository.findById(repository.getId()).orElse(null);
-                if (existingRepo != null) {
-                    // Update existing repository
-                    existingRepo.setName(repository.getName());
-                    existingRepo.setDescription(repository.getDescription());
-                    existingRepo.setOwner(repository.getOwner());
-                    existingRepo.setLanguage(repository.getLanguage());
-                    existingRepo.setStars(repository.getStars());
-                    existingRepo.setForks(repository.getForks());
-                    existingRepo.setLastUpdated(repository.getLastUpdated());
-                    existingRepo.setUpdatedAt(LocalDateTime.now());
-                    return repositoryRepository.save(existingRepo);
-                }
+    private void persistRepositories(List<RepositoryDto> repositoryDtos, WriteCounts counts,
+            Observation observation) {
+        List<Repository> repositories = searchMetrics.observeStage("map", observation,
+                () -> repositoryDtos.stream()
+                        .map(repositoryMapper::toEntity)
+                        .collect(Collectors.toList()));
+        searchMetrics.observeStage("persist", observation, () -> {
+            if (writeBehindQueue.isEnabled()) {
+                writeBehindQueue.enqueue(repositories);
+                counts.known = false;
             } else {
+                counts.add(persistenceService.upsertAll(repositories));
             }
+            return repositories.size();
+        });
+    }
 
-            return repositoryRepository.save(repository);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save repository: " + e.getMessage(), e);
+    /**
+     * Remember the validators of a page whose repositories were saved
+     * Pages GitHub confirmed unchanged keep the validators already stored
+     */
+    private void storeValidators(UpstreamResponse upstreamResponse) {
+        if (!upstreamResponse.notModified()) {
+            responseCache.put(upstreamResponse.url(), upstreamResponse.etag(), upstreamResponse.lastModified(),
+                    upstreamResponse.page());
         }
     }
 
     /**
-     * Convert repository entity to DTO for API response
+     * Check whether the datasource is PostgreSQL, which has the full-text search
+     */
+    private boolean isPostgreSql() {
+        return datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Number of result pages a search fetches at most
+     */
+    private int pageCount(SearchRequest searchRequest) {
+        int maxResults = maxResults(searchRequest);
+        int perPage = Math.min(maxResults, GITHUB_MAX_PER_PAGE);
+        return (maxResults + perPage - 1) / perPage;
+    }
+
+    /**
+     * Number of results requested by a search
+     */
+    private int maxResults(SearchRequest searchRequest) {
+        return searchRequest.getMaxResults() != null ? searchRequest.getMaxResults() : DEFAULT_MAX_RESULTS;
+    }
+
+    /**
+     * Count the items GitHub returned on a page
+     */
+    private int itemCount(UpstreamResponse upstreamResponse) {
+        return upstreamResponse.page().items().size();
+    }
+
+    /**
+     * Build search response from saved repositories and their write counts
      */
-    private RepositoryDto convertToDto(Repository repository) {
-        return new RepositoryDto(
-                repository.getId(),
-                repository.getName(),
-                repository.getDescription(),
-                repository.getOwner(),
-                repository.getLanguage(),
-                repository.getStars(),
-                repository.getForks(),
-                repository.getLastUpdated());
+    private SearchResponse buildSearchResponse(List<RepositoryDto> repositoryDtos, WriteCounts counts) {
+        if (!counts.known) {
+            return new SearchResponse(
+                    "Repositories fetched and saved successfully",
+                    repositoryDtos);
+        }
+        return new SearchResponse(
+                "Repositories fetched and saved successfully",
+                repositoryDtos,
+                counts.inserted.get(),
+                counts.updated.get(),
+                counts.unchanged.get());
     }
 
     /**
@@ -247,4 +831,37 @@ public class GitHubService {
     private boolean isValidSortParameter(String sort) {
         return "stars".equals(sort) || "forks".equals(sort) || "updated".equals(sort);
     }
+
+    /**
+     * Decoded GitHub search page together with its revalidation outcome and
+     * the validators GitHub sent with it
+     */
+    private record UpstreamResponse(String url, GitHubSearchDecoder.SearchPage page, boolean notModified,
+            String etag, String lastModified) {
+    }
+
+    /**
+     * Fetched pages of one search in a batch, or the error that made it fail
+     */
+    private record BatchFetch(SearchRequest searchRequest, List<UpstreamResponse> pages, String error) {
+    }
+
+    /**
+     * Inserted, updated and unchanged repositories of one search, summed over its pages
+     */
+    private static final class WriteCounts {
+        private final AtomicInteger inserted = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private volatile boolean known = true;
+
+        private void add(RepositoryPersistenceService.UpsertResult result) {
+            if (result == null) {
+                return;
+            }
+            inserted.addAndGet(result.inserted());
+            updated.addAndGet(result.updated());
+            unchanged.addAndGet(result.unchanged());
+        }
+    }
 }
\ No newline at end of file
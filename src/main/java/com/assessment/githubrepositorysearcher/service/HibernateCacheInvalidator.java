@@ -0,0 +1,70 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.cache.SharedCache;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Keeps this instance's Hibernate second-level cache coherent with writes made
+ * by other instances
+ * Hibernate only sees writes made through its own session factory, so a row
+ * written elsewhere would be served stale from the local entity region until
+ * it expires. Listens to the invalidations broadcast on the shared cache and
+ * evicts the written repositories and the cached repository queries
+ * Does nothing when no shared cache is configured
+ */
+@Component
+public class HibernateCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RepositoryQueryCache queryCache;
+    private final ObjectReader invalidationReader;
+    private final Counter sharedErrors;
+
+    public HibernateCacheInvalidator(
+            Optional<SharedCache> sharedCache,
+            EntityManagerFactory entityManagerFactory,
+            RepositoryQueryCache queryCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryCache = queryCache;
+        this.invalidationReader = objectMapper.readerFor(RepositoryQueryCache.Invalidation.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.sharedErrors = Counter.builder("github.cache.shared.errors")
+                .description("Shared cache operations that failed and fell back to the database")
+                .register(meterRegistry);
+
+        sharedCache.ifPresent(cache -> cache.subscribe(this::onInvalidation));
+    }
+
+    private void onInvalidation(byte[] message) {
+        try {
+            RepositoryQueryCache.Invalidation invalidation = invalidationReader.readValue(message);
+
+            // Writes made here already updated the local regions
+            if (queryCache.getNodeId().equals(invalidation.origin())) {
+                return;
+            }
+
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            for (RepositoryChange change : invalidation.changes()) {
+                cache.evictEntityData(Repository.class, change.id());
+            }
+            cache.evictQueryRegion(RepositoryRepository.REPOSITORY_QUERY_CACHE_REGION);
+        } catch (Exception e) {
+            sharedErrors.increment();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.LanguageStatsDto;
+import com.assessment.githubrepositorysearcher.dto.LanguageStatsResponse;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.LanguageStats;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.repository.LanguageStatsRepository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining and serving per-language aggregates of stored repositories
+ * Repository count, total stars and total forks of each language live in the
+ * language_stats summary table, which is adjusted by deltas inside every
+ * upsert transaction instead of being recomputed, so reading them is a primary
+ * key lookup; top repositories are read from the (language, stars, id) index
+ * Upserts lock the rows they change, so deltas are exact; reconciling the
+ * table with the repositories table every interval is an opt-in safety net
+ * Repositories without a language are not aggregated
+ */
+@Service
+public class LanguageStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(LanguageStatsService.class);
+
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 100;
+
+    @Autowired
+    private LanguageStatsRepository languageStatsRepository;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private RepositoryMapper repositoryMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${github.stats.reconcile.enabled:false}")
+    private boolean reconcileEnabled;
+
+    /**
+     * Retrieve the aggregates of one language, or of every language
+     * Each entry carries the repository count, total stars, average forks and
+     * the top repositories by stars
+     *
+     * @param language - optional language; all languages when null
+     * @param top - optional number of top repositories per language (default: 10, max: 100)
+     */
+    @Transactional(readOnly = true)
+    public LanguageStatsResponse getLanguageStats(String language, Integer top) {
+        try {
+
+            // Validating the top repositories count
+            int topCount = top != null ? top : DEFAULT_TOP;
+            if (topCount < 0 || topCount > MAX_TOP) {
+                throw new IllegalArgumentException("Invalid top parameter. Must be between 0 and " + MAX_TOP);
+            }
+
+            List<LanguageStats> stats = language != null
+                    ? languageStatsRepository.findById(language)
+                            .filter(languageStats -> languageStats.getRepositoryCount() > 0)
+                            .map(List::of)
+                            .orElse(List.of())
+                    : languageStatsRepository.findAllNonEmpty();
+
+            List<LanguageStatsDto> languages = stats.stream()
+                    .map(languageStats -> toDto(languageStats, topCount))
+                    .collect(Collectors.toList());
+
+            return new LanguageStatsResponse(languages);
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to retrieve language stats: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply committed repository writes to the language aggregates
+     * Each written row is removed from its previous language and added to its
+     * current one; the net delta per language is applied with a single
+     * UPDATE, in language order so concurrent writers lock rows consistently
+     * Runs inside the upsert transaction just before it commits, so the
+     * aggregates and the rows they describe are committed or rolled back together
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRepositoriesChanged(RepositoriesChangedEvent event) {
+        Map<String, long[]> deltas = new TreeMap<>();
+        for (RepositoryChange change : event.getChanges()) {
+            if (!change.isInsert()) {
+                addDelta(deltas, change.previousLanguage(), -1, change.previousStars(), change.previousForks());
+            }
+            addDelta(deltas, change.language(), 1, change.stars(), change.forks());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, long[]> entry : deltas.entrySet()) {
+            long[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                continue;
+            }
+            String language = entry.getKey();
+            if (languageStatsRepository.addToLanguage(language, delta[0], delta[1], delta[2], now) == 0) {
+                createLanguage(language);
+                languageStatsRepository.addToLanguage(language, delta[0], delta[1], delta[2], now);
+            }
+        }
+    }
+
+    /**
+     * Reconcile the aggregates with the repositories table every interval
+     */
+    @Scheduled(fixedDelayString = "${github.stats.reconcile.interval:1h}",
+            initialDelayString = "${github.stats.reconcile.interval:1h}")
+    public void reconcileOnSchedule() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        try {
+            int corrected = reconcile();
+            if (corrected > 0) {
+                log.warn("Corrected the aggregates of {} languages", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile language stats: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute the aggregates from the repositories table and correct the
+     * summary rows that drifted
+     * The summary rows are locked before the repositories are read, so an
+     * upsert either committed its rows and deltas before they are read, or
+     * applies its deltas to the corrected rows afterwards
+     *
+     * @return the number of languages corrected
+     */
+    public int reconcile() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            List<LanguageStats> stored = languageStatsRepository.findAllForUpdate();
+            Map<String, LanguageStats> computed = languageStatsRepository.computeFromRepositories().stream()
+                    .collect(Collectors.toMap(LanguageStats::getLanguage, Function.identity(), (a, b) -> a,
+                            TreeMap::new));
+
+            LocalDateTime now = LocalDateTime.now();
+            int corrected = 0;
+            for (LanguageStats languageStats : stored) {
+                LanguageStats expected = computed.remove(languageStats.getLanguage());
+                if (expected == null) {
+                    expected = new LanguageStats(languageStats.getLanguage());
+                }
+                if (languageStats.getRepositoryCount() != expected.getRepositoryCount()
+                        || languageStats.getTotalStars() != expected.getTotalStars()
+                        || languageStats.getTotalForks() != expected.getTotalForks()) {
+                    languageStats.setRepositoryCount(expected.getRepositoryCount());
+                    languageStats.setTotalStars(expected.getTotalStars());
+                    languageStats.setTotalForks(expected.getTotalForks());
+                    languageStats.setUpdatedAt(now);
+                    corrected++;
+                }
+            }
+
+            // Languages whose row is missing altogether
+            for (LanguageStats expected : computed.values()) {
+                createLanguage(expected.getLanguage());
+                languageStatsRepository.addToLanguage(expected.getLanguage(), expected.getRepositoryCount(),
+                        expected.getTotalStars(), expected.getTotalForks(), now);
+                corrected++;
+            }
+            return corrected;
+        });
+    }
+
+    /**
+     * Insert an empty row for a language seen for the first time
+     * Committed on its own, so the row is visible to the following UPDATE;
+     * if a concurrent writer inserted it first the duplicate key is ignored
+     */
+    private void createLanguage(String language) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            newTransaction.executeWithoutResult(
+                    status -> languageStatsRepository.saveAndFlush(new LanguageStats(language)));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent writer
+        }
+    }
+
+    private void addDelta(Map<String, long[]> deltas, String language, int sign, Integer stars, Integer forks) {
+        if (language == null) {
+            return;
+        }
+        long[] delta = deltas.computeIfAbsent(language, key -> new long[3]);
+        delta[0] += sign;
+        delta[1] += sign * (long) (stars != null ? stars : 0);
+        delta[2] += sign * (long) (forks != null ? forks : 0);
+    }
+
+    private LanguageStatsDto toDto(LanguageStats languageStats, int topCount) {
+        List<RepositoryDto> topRepositories = topCount > 0
+                ? repositoryRepository.findByLanguageOrderByStarsDescIdDesc(
+                                languageStats.getLanguage(), Limit.of(topCount)).stream()
+                        .map(repositoryMapper::toDto)
+                        .collect(Collectors.toList())
+                : List.of();
+        double averageForks = (double) languageStats.getTotalForks() / languageStats.getRepositoryCount();
+
+        return new LanguageStatsDto(languageStats.getLanguage(), languageStats.getRepositoryCount(),
+                languageStats.getTotalStars(), averageForks, topRepositories);
+    }
+}
@@ -0,0 +1,92 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositorySpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for stored repository listings
+ * Encodes the sort, the sort column value and the id of the last returned row
+ * as URL safe Base64, e.g. "stars|80954|127988011"
+ */
+public final class RepositoryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Specification<Repository> specification;
+
+    private RepositoryCursor(Specification<Repository> specification) {
+        this.specification = specification;
+    }
+
+    /**
+     * Build the cursor pointing after the given repository
+     */
+    public static String encode(String sort, Repository repository) {
+        return encode(sort, repository.getId(), repository.getStars(), repository.getForks(),
+                repository.getLastUpdated());
+    }
+
+    /**
+     * Build the cursor pointing after the given repository row
+     * Used for pages served from the index, which holds DTOs
+     */
+    public static String encode(String sort, RepositoryDto repository) {
+        return encode(sort, repository.getId(), repository.getStars(), repository.getForks(),
+                repository.getLastUpdated());
+    }
+
+    private static String encode(String sort, Long id, Integer stars, Integer forks, LocalDateTime lastUpdated) {
+        String value;
+        switch (sort) {
+            case "forks":
+                value = String.valueOf(forks);
+                break;
+            case "updated":
+                value = lastUpdated.toString();
+                break;
+            default:
+                value = String.valueOf(stars);
+        }
+
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor and check that it was issued for the same sort
+     */
+    public static RepositoryCursor decode(String sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new IllegalArgumentException("Cursor does not match sort '" + sort + "'");
+            }
+            Long id = Long.parseLong(parts[2]);
+            switch (sort) {
+                case "updated":
+                    return new RepositoryCursor(
+                            RepositorySpecifications.after(sort, LocalDateTime.parse(parts[1]), id));
+                default:
+                    return new RepositoryCursor(
+                            RepositorySpecifications.after(sort, Integer.valueOf(parts[1]), id));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Specification selecting the rows after this cursor
+     */
+    public Specification<Repository> toSpecification() {
+        return specification;
+    }
+}
@@ -0,0 +1,134 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting the whole repositories table as a stream
+ * Rows are read through a JDBC cursor, written one by one and detached from the
+ * persistence context, so heap use stays constant regardless of table size
+ * The export bypasses the second-level cache, so it does not evict hot entries
+ */
+@Service
+public class RepositoryExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private RepositoryMapper repositoryMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Check whether an export format is supported
+     */
+    public boolean isSupportedFormat(String format) {
+        return "ndjson".equals(format) || "csv".equals(format);
+    }
+
+    /**
+     * Write every stored repository to the output stream
+     * NDJSON writes one RepositoryDto JSON object per line; CSV writes a header
+     * row followed by one row per repository
+     *
+     * @return number of exported repositories
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream outputStream, String format) throws IOException {
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Invalid export format. Must be 'ndjson' or 'csv'");
+        }
+
+        ObjectWriter dtoWriter = objectMapper.writerFor(RepositoryDto.class);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if ("csv".equals(format)) {
+            writer.write("id,name,description,owner,language,stars,forks,lastUpdated\n");
+        }
+
+        // Rows read lazily from the cursor are cached by the session mode, not the query hints
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        try (Stream<Repository> repositories = repositoryRepository.streamAll()) {
+            Iterator<Repository> iterator = repositories.iterator();
+            while (iterator.hasNext()) {
+                Repository repository = iterator.next();
+                RepositoryDto dto = repositoryMapper.toDto(repository);
+
+                if ("csv".equals(format)) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(dtoWriter.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                // Releasing the entity so the persistence context does not grow
+                entityManager.detach(repository);
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Write a single CSV row with RFC 4180 quoting
+     */
+    private void writeCsvRow(Writer writer, RepositoryDto dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csvValue(dto.getName()));
+        writer.write(',');
+        writer.write(csvValue(dto.getDescription()));
+        writer.write(',');
+        writer.write(csvValue(dto.getOwner()));
+        writer.write(',');
+        writer.write(csvValue(dto.getLanguage()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getStars()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getForks()));
+        writer.write(',');
+        writer.write(dto.getLastUpdated() != null ? dto.getLastUpdated().toString() : "");
+        writer.write('\n');
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
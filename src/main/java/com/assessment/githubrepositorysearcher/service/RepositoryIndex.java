@@ -0,0 +1,664 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.cache.SharedCache;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process index answering stored repository queries without a
+ * database round trip
+ * Every repository owns a slot in primitive columns (id, stars, forks,
+ * lastUpdated) next to its response DTO. Tokens of name and owner, tokens of
+ * the description and languages map to sorted postings lists of slots, and for
+ * each sort option the slots are kept in a sorted tree (descending, id as tie
+ * breaker, as in the database), so a write only moves the written slots
+ * Warmed up on startup from a streaming table scan, before the application
+ * reports readiness, and kept in sync with every committed upsert through
+ * RepositoriesChangedEvent; until warm-up has finished callers fall back to JPA
+ * When a shared cache is configured, writes made by other instances arrive
+ * as invalidation broadcasts and the written rows are reloaded from the
+ * database
+ */
+@Component
+public class RepositoryIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int WARM_UP_CHUNK = 1000;
+
+    // Text scores: a query token found in name or owner weighs twice a description hit
+    private static final int NAME_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+
+    private final RepositoryRepository repositoryRepository;
+    private final RepositoryMapper repositoryMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final RepositoryQueryCache queryCache;
+    private final ObjectMapper objectMapper;
+    private final Counter sharedErrors;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Slot columns and postings, guarded by lock
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] stars = new int[INITIAL_CAPACITY];
+    private int[] forks = new int[INITIAL_CAPACITY];
+    private long[] lastUpdated = new long[INITIAL_CAPACITY];
+    private RepositoryDto[] rows = new RepositoryDto[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<String, Postings> namePostings = new HashMap<>();
+    private final Map<String, Postings> descriptionPostings = new HashMap<>();
+    private final Map<String, Postings> languagePostings = new HashMap<>();
+
+    // Sort orders, built once warm-up has loaded the table
+    private final Map<String, SortOrder> sortOrders = new HashMap<>();
+
+    public RepositoryIndex(
+            RepositoryRepository repositoryRepository,
+            RepositoryMapper repositoryMapper,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            MeterRegistry meterRegistry,
+            boolean enabled) {
+        this(repositoryRepository, repositoryMapper, transactionManager, entityManager, Optional.empty(),
+                null, null, meterRegistry, enabled);
+    }
+
+    @Autowired
+    public RepositoryIndex(
+            RepositoryRepository repositoryRepository,
+            RepositoryMapper repositoryMapper,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            Optional<SharedCache> sharedCache,
+            RepositoryQueryCache queryCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${github.index.enabled:false}") boolean enabled) {
+        this.repositoryRepository = repositoryRepository;
+        this.repositoryMapper = repositoryMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.queryCache = queryCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        Gauge.builder("github.index.repositories", this, RepositoryIndex::size)
+                .description("Repositories held by the in-process repository index")
+                .register(meterRegistry);
+        this.sharedErrors = Counter.builder("github.cache.shared.errors")
+                .description("Shared cache operations that failed and fell back to the database")
+                .register(meterRegistry);
+
+        if (enabled) {
+            sharedCache.ifPresent(cache -> cache.subscribe(this::onInvalidation));
+        }
+    }
+
+    /**
+     * Whether queries can be answered from the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Load every stored repository, reading the table through a JDBC cursor
+     * The scan bypasses the second-level cache, so it does not fill the region
+     * Rows indexed by a concurrent write during the scan are newer than the
+     * scanned version and are kept
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || ready) {
+            return;
+        }
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Rows read lazily from the cursor are cached by the session mode, not the query hints
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            try (Stream<Repository> repositories = repositoryRepository.streamAll()) {
+                List<Repository> chunk = new ArrayList<>(WARM_UP_CHUNK);
+                Iterator<Repository> iterator = repositories.iterator();
+                while (iterator.hasNext()) {
+                    Repository repository = iterator.next();
+                    chunk.add(repository);
+                    // Releasing the entity so the persistence context does not grow
+                    entityManager.detach(repository);
+                    if (chunk.size() == WARM_UP_CHUNK) {
+                        addMissing(chunk);
+                        chunk.clear();
+                    }
+                }
+                addMissing(chunk);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            sortOrders.put("stars", SortOrder.build(size, this::compareStars));
+            sortOrders.put("forks", SortOrder.build(size, this::compareForks));
+            sortOrders.put("updated", SortOrder.build(size, this::compareLastUpdated));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed repository writes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepositoriesChanged(RepositoriesChangedEvent event) {
+        if (enabled) {
+            index(event.getRepositories());
+        }
+    }
+
+    /**
+     * Reload the rows written by another instance
+     * Rows are read after the writer committed, so the index takes the
+     * database's current version whatever order broadcasts arrive in
+     */
+    private void onInvalidation(byte[] message) {
+        try {
+            RepositoryQueryCache.Invalidation invalidation = objectMapper
+                    .readerFor(RepositoryQueryCache.Invalidation.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(message);
+
+            // Writes made here were already applied by onRepositoriesChanged
+            if (queryCache.getNodeId().equals(invalidation.origin())) {
+                return;
+            }
+
+            List<Long> ids = invalidation.changes().stream().map(RepositoryChange::id).toList();
+            List<Repository> repositories = readOnlyTransaction.execute(status ->
+                    repositoryRepository.findAllById(ids));
+            index(repositories != null ? repositories : List.of());
+        } catch (Exception e) {
+            sharedErrors.increment();
+        }
+    }
+
+    /**
+     * Insert or replace repositories in the index
+     */
+    public void index(Collection<Repository> repositories) {
+        if (repositories.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Repository repository : repositories) {
+                // Taking the slot out of the sort orders while its columns change
+                Integer existing = slotsById.get(repository.getId());
+                if (existing != null) {
+                    sortOrders.values().forEach(order -> order.remove(existing));
+                }
+                int slot = put(repository, true);
+                sortOrders.values().forEach(order -> order.add(slot));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find repositories matching the optional text, language and minimum stars
+     * Text is tokenized like the indexed fields and every token must match the
+     * name, owner or description; text matches are ordered by score, then by
+     * the sort option, other queries by the sort option alone
+     *
+     * @return one window of matches and the total number of matches
+     */
+    public Result query(String text, String language, Integer minStars, String sort, int offset, int limit) {
+        if (!ready) {
+            throw new IllegalStateException("Repository index is not warmed up");
+        }
+        lock.readLock().lock();
+        try {
+            SortOrder order = sortOrders.get(sort);
+            if (order == null) {
+                throw new IllegalArgumentException("Invalid sort parameter. Must be 'stars', 'forks', or 'updated'");
+            }
+            List<String> tokens = text != null ? tokenize(text) : List.of();
+            if (text != null && tokens.isEmpty()) {
+                return Result.EMPTY;
+            }
+
+            // Narrowing down to language and text postings, null meaning every slot
+            int[] candidates = null;
+            if (language != null) {
+                Postings postings = languagePostings.get(language);
+                if (postings == null) {
+                    return Result.EMPTY;
+                }
+                candidates = postings.toArray();
+            }
+            for (String token : tokens) {
+                int[] matches = union(postingsOf(namePostings, token), postingsOf(descriptionPostings, token));
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return Result.EMPTY;
+                }
+            }
+
+            PrimitiveIterator.OfInt ordered;
+            if (candidates == null) {
+                ordered = order.iterator();
+            } else if (tokens.isEmpty()) {
+                ordered = Arrays.stream(order.sort(candidates)).iterator();
+            } else {
+                ordered = Arrays.stream(sortByScore(candidates, tokens, order)).iterator();
+            }
+            return window(ordered, minStars, offset, limit);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index warm-up rows that no concurrent write has indexed yet
+     */
+    private void addMissing(List<Repository> repositories) {
+        lock.writeLock().lock();
+        try {
+            for (Repository repository : repositories) {
+                put(repository, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write one repository into its slot, taking a new slot for unknown ids
+     *
+     * @return slot of the repository
+     */
+    private int put(Repository repository, boolean replace) {
+        Integer existing = slotsById.get(repository.getId());
+        if (existing != null && !replace) {
+            return existing;
+        }
+
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            removeTerms(slot, rows[slot]);
+        } else {
+            slot = size++;
+            ensureCapacity(size);
+            slotsById.put(repository.getId(), slot);
+        }
+
+        RepositoryDto row = repositoryMapper.toDto(repository);
+        rows[slot] = row;
+        ids[slot] = repository.getId();
+        stars[slot] = row.getStars() != null ? row.getStars() : 0;
+        forks[slot] = row.getForks() != null ? row.getForks() : 0;
+        lastUpdated[slot] = toEpochMicros(row.getLastUpdated());
+        addTerms(slot, row);
+        return slot;
+    }
+
+    private void addTerms(int slot, RepositoryDto row) {
+        for (String token : nameTokens(row)) {
+            namePostings.computeIfAbsent(token, t -> new Postings()).add(slot);
+        }
+        for (String token : tokenize(row.getDescription())) {
+            descriptionPostings.computeIfAbsent(token, t -> new Postings()).add(slot);
+        }
+        if (row.getLanguage() != null) {
+            languagePostings.computeIfAbsent(row.getLanguage(), l -> new Postings()).add(slot);
+        }
+    }
+
+    private void removeTerms(int slot, RepositoryDto row) {
+        for (String token : nameTokens(row)) {
+            remove(namePostings, token, slot);
+        }
+        for (String token : tokenize(row.getDescription())) {
+            remove(descriptionPostings, token, slot);
+        }
+        if (row.getLanguage() != null) {
+            remove(languagePostings, row.getLanguage(), slot);
+        }
+    }
+
+    private void remove(Map<String, Postings> postingsByTerm, String term, int slot) {
+        Postings postings = postingsByTerm.get(term);
+        if (postings != null && postings.remove(slot) && postings.isEmpty()) {
+            postingsByTerm.remove(term);
+        }
+    }
+
+    private List<String> nameTokens(RepositoryDto row) {
+        List<String> tokens = new ArrayList<>(tokenize(row.getName()));
+        tokens.addAll(tokenize(row.getOwner()));
+        return tokens;
+    }
+
+    /**
+     * Split text into distinct lower-case letter and digit runs
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Order text matches by score, best first, then by the sort order
+     */
+    private int[] sortByScore(int[] candidates, List<String> tokens, SortOrder order) {
+        int[] scores = new int[candidates.length];
+        Integer[] positions = new Integer[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            int slot = candidates[i];
+            int score = 0;
+            for (String token : tokens) {
+                if (contains(namePostings, token, slot)) {
+                    score += NAME_SCORE;
+                }
+                if (contains(descriptionPostings, token, slot)) {
+                    score += DESCRIPTION_SCORE;
+                }
+            }
+            scores[i] = score;
+            positions[i] = i;
+        }
+        Arrays.sort(positions, (a, b) -> scores[a] != scores[b]
+                ? Integer.compare(scores[b], scores[a])
+                : order.compare(candidates[a], candidates[b]));
+
+        int[] ordered = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            ordered[i] = candidates[positions[i]];
+        }
+        return ordered;
+    }
+
+    /**
+     * Apply the minimum stars filter and cut one window out of ordered slots
+     */
+    private Result window(PrimitiveIterator.OfInt ordered, Integer minStars, int offset, int limit) {
+        List<RepositoryDto> repositories = new ArrayList<>(Math.min(limit, size));
+        int matches = 0;
+        while (ordered.hasNext()) {
+            int slot = ordered.nextInt();
+            if (minStars != null && stars[slot] < minStars) {
+                continue;
+            }
+            if (matches >= offset && repositories.size() < limit) {
+                repositories.add(rows[slot]);
+            }
+            matches++;
+        }
+        return new Result(repositories, matches);
+    }
+
+    private boolean contains(Map<String, Postings> postingsByTerm, String term, int slot) {
+        Postings postings = postingsByTerm.get(term);
+        return postings != null && postings.contains(slot);
+    }
+
+    private int[] postingsOf(Map<String, Postings> postingsByTerm, String term) {
+        Postings postings = postingsByTerm.get(term);
+        return postings != null ? postings.toArray() : new int[0];
+    }
+
+    private int compareStars(int a, int b) {
+        int result = Integer.compare(stars[b], stars[a]);
+        return result != 0 ? result : Long.compare(ids[b], ids[a]);
+    }
+
+    private int compareForks(int a, int b) {
+        int result = Integer.compare(forks[b], forks[a]);
+        return result != 0 ? result : Long.compare(ids[b], ids[a]);
+    }
+
+    private int compareLastUpdated(int a, int b) {
+        int result = Long.compare(lastUpdated[b], lastUpdated[a]);
+        return result != 0 ? result : Long.compare(ids[b], ids[a]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        stars = Arrays.copyOf(stars, newCapacity);
+        forks = Arrays.copyOf(forks, newCapacity);
+        lastUpdated = Arrays.copyOf(lastUpdated, newCapacity);
+        rows = Arrays.copyOf(rows, newCapacity);
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return Long.MIN_VALUE;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    /**
+     * Merge two sorted slot arrays
+     */
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[k++] = a[i++];
+        }
+        while (j < b.length) {
+            result[k++] = b[j++];
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Intersect two sorted slot arrays
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * One window of index matches
+     */
+    public record Result(List<RepositoryDto> repositories, int totalMatches) {
+
+        static final Result EMPTY = new Result(List.of(), 0);
+    }
+
+    @FunctionalInterface
+    private interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Sorted set of slots backed by a growable int array
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+    }
+
+    /**
+     * Slots kept sorted by one sort option
+     * A write moves each written slot in logarithmic time; a slot has to be
+     * removed before its columns change and added back afterwards, since the
+     * tree finds it by its current values
+     */
+    private static final class SortOrder {
+
+        private final SlotComparator comparator;
+        private final TreeSet<Integer> slots;
+
+        private SortOrder(SlotComparator comparator) {
+            this.comparator = comparator;
+            this.slots = new TreeSet<>(comparator::compare);
+        }
+
+        /**
+         * Sort every slot; only used once, after warm-up
+         */
+        static SortOrder build(int size, SlotComparator comparator) {
+            SortOrder order = new SortOrder(comparator);
+            for (int slot = 0; slot < size; slot++) {
+                order.add(slot);
+            }
+            return order;
+        }
+
+        void add(int slot) {
+            slots.add(slot);
+        }
+
+        void remove(int slot) {
+            slots.remove(slot);
+        }
+
+        int compare(int a, int b) {
+            return comparator.compare(a, b);
+        }
+
+        PrimitiveIterator.OfInt iterator() {
+            return slots.stream().mapToInt(Integer::intValue).iterator();
+        }
+
+        /**
+         * Sort a subset of slots in this order
+         */
+        int[] sort(int[] subset) {
+            Integer[] boxed = Arrays.stream(subset).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, comparator::compare);
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
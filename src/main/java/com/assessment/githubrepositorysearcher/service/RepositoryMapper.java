@@ -0,0 +1,82 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.GitHubRepository;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Mapper between GitHub API objects, database entities and API DTOs
+ */
+@Component
+public class RepositoryMapper {
+
+    /**
+     * Convert GitHub API repository object to database entity
+     * Maps GitHub response fields to internal entity with null safety and timestamp
+     * parsing
+     */
+    public Repository toEntity(GitHubRepository gitHubRepo) {
+        Repository repository = new Repository();
+        repository.setId(gitHubRepo.getId());
+        repository.setName(gitHubRepo.getName());
+        repository.setDescription(gitHubRepo.getDescription());
+        repository.setOwner(gitHubRepo.getOwner() != null ? gitHubRepo.getOwner().getLogin() : "Unknown");
+        repository.setLanguage(gitHubRepo.getLanguage());
+        repository.setStars(gitHubRepo.getStargazersCount() != null ? gitHubRepo.getStargazersCount() : 0);
+        repository.setForks(gitHubRepo.getForksCount() != null ? gitHubRepo.getForksCount() : 0);
+        repository.setLastUpdated(parseTimestamp(gitHubRepo.getUpdatedAt()));
+
+        return repository;
+    }
+
+    /**
+     * Convert a decoded repository DTO to database entity
+     * Used by the streaming decode path, where defaults were already applied
+     */
+    public Repository toEntity(RepositoryDto dto) {
+        Repository repository = new Repository();
+        repository.setId(dto.getId());
+        repository.setName(dto.getName());
+        repository.setDescription(dto.getDescription());
+        repository.setOwner(dto.getOwner());
+        repository.setLanguage(dto.getLanguage());
+        repository.setStars(dto.getStars());
+        repository.setForks(dto.getForks());
+        repository.setLastUpdated(dto.getLastUpdated());
+
+        return repository;
+    }
+
+    /**
+     * Parse a GitHub updated_at timestamp, falling back to the current time
+     */
+    public LocalDateTime parseTimestamp(String timestamp) {
+        if (timestamp == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_DATE_TIME);
+        } catch (Exception e) {
+            return LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Convert repository entity to DTO for API response
+     */
+    public RepositoryDto toDto(Repository repository) {
+        return new RepositoryDto(
+                repository.getId(),
+                repository.getName(),
+                repository.getDescription(),
+                repository.getOwner(),
+                repository.getLanguage(),
+                repository.getStars(),
+                repository.getForks(),
+                repository.getLastUpdated());
+    }
+}
@@ -0,0 +1,234 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service handling bulk persistence of repositories fetched from GitHub
+ * Replaces per-row exists/find/save round trips with a single lookup of
+ * existing rows followed by batched inserts and updates; rows GitHub returned
+ * unchanged are left untouched so repeat searches issue no UPDATE at all
+ * Updates and inserts are flushed separately and timed as
+ * github.repositories.persist, tagged by operation and write source
+ */
+@Service
+public class RepositoryPersistenceService {
+
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Save new repositories and update existing ones in a single transaction
+     * Loads all existing rows with one query, merges the latest GitHub data in
+     * memory and lets Hibernate flush inserts and updates as JDBC batches
+     * Existing rows are always read from the database, never from this
+     * instance's second-level cache, which may miss writes of other instances,
+     * and locked until commit, so the before values of every change, and the
+     * aggregate deltas derived from them, are exact under concurrent upserts
+     * Duplicate ids in the input are collapsed, keeping the last occurrence
+     * Existing rows whose GitHub fields are all unchanged are skipped, keeping
+     * their updatedAt, so Hibernate dirty checking finds nothing to flush
+     * Publishes a RepositoriesChangedEvent describing every written row
+     * Concurrent upserts of the same new ids race between the lookup and the
+     * INSERT; the transaction losing on the primary key is rolled back and
+     * retried, and then finds the winner's rows and updates them instead.
+     * Only retried when the upsert runs in its own transaction
+     */
+    public UpsertResult upsertAll(List<Repository> repositories) {
+        return upsertAll(repositories, Source.SEARCH);
+    }
+
+    /**
+     * Upsert repositories on behalf of the given write source, which tags the
+     * persist timers and the published RepositoriesChangedEvent
+     */
+    public UpsertResult upsertAll(List<Repository> repositories, Source source) {
+        if (repositories == null || repositories.isEmpty()) {
+            return new UpsertResult(List.of(), 0, 0, 0);
+        }
+
+        // Joining the caller's transaction, which cannot be retried from here
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return upsertInTransaction(repositories, source);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Repository> attempt = repositories;
+        for (int attempts = 1; ; attempts++) {
+            List<Repository> batch = attempt;
+            try {
+                return transaction.execute(status -> upsertInTransaction(batch, source));
+            } catch (DataIntegrityViolationException e) {
+                if (attempts >= MAX_UPSERT_ATTEMPTS) {
+                    throw new RuntimeException("Failed to save repositories: " + e.getMessage(), e);
+                }
+                // Entities of the rolled back attempt are no longer new, retrying with fresh copies
+                attempt = repositories.stream().map(this::copyOf).toList();
+            }
+        }
+    }
+
+    private UpsertResult upsertInTransaction(List<Repository> repositories, Source source) {
+        try {
+            // Deduplicating incoming repositories by id while keeping their order
+            Map<Long, Repository> incoming = new LinkedHashMap<>();
+            for (Repository repository : repositories) {
+                incoming.put(repository.getId(), repository);
+            }
+
+            // Loading and locking all existing repositories with a single query
+            Map<Long, Repository> existing = new HashMap<>();
+            for (Repository repository : repositoryRepository.findAllByIdForUpdate(incoming.keySet())) {
+                existing.put(repository.getId(), repository);
+            }
+
+            List<Repository> result = new ArrayList<>(incoming.size());
+            List<Repository> toSave = new ArrayList<>(incoming.size());
+            List<Repository> toInsert = new ArrayList<>(incoming.size());
+            List<RepositoryChange> changes = new ArrayList<>(incoming.size());
+            int inserted = 0;
+            int updated = 0;
+            int unchanged = 0;
+            for (Repository repository : incoming.values()) {
+                Repository existingRepo = existing.get(repository.getId());
+                if (existingRepo != null && isUnchanged(existingRepo, repository)) {
+                    unchanged++;
+                    result.add(existingRepo);
+                } else if (existingRepo != null) {
+                    changes.add(new RepositoryChange(
+                            repository.getId(),
+                            existingRepo.getLanguage(), existingRepo.getStars(), existingRepo.getForks(),
+                            repository.getLanguage(), repository.getStars(), repository.getForks()));
+
+                    // Update existing repository
+                    existingRepo.setName(repository.getName());
+                    existingRepo.setDescription(repository.getDescription());
+                    existingRepo.setOwner(repository.getOwner());
+                    existingRepo.setLanguage(repository.getLanguage());
+                    existingRepo.setStars(repository.getStars());
+                    existingRepo.setForks(repository.getForks());
+                    existingRepo.setLastUpdated(repository.getLastUpdated());
+                    existingRepo.setUpdatedAt(LocalDateTime.now());
+                    toSave.add(existingRepo);
+                    result.add(existingRepo);
+                    updated++;
+                } else {
+                    changes.add(new RepositoryChange(
+                            repository.getId(),
+                            null, null, null,
+                            repository.getLanguage(), repository.getStars(), repository.getForks()));
+                    toSave.add(repository);
+                    toInsert.add(repository);
+                    result.add(repository);
+                    inserted++;
+                }
+            }
+
+            if (!toSave.isEmpty()) {
+                // Updated rows are managed and dirty, flushing them before the inserts are persisted
+                if (updated > 0) {
+                    persistTimer("update", source).record(repositoryRepository::flush);
+                }
+
+                // Flushing here so a duplicate key surfaces as DataIntegrityViolationException
+                if (!toInsert.isEmpty()) {
+                    persistTimer("insert", source).record(() -> {
+                        repositoryRepository.saveAll(toInsert);
+                        repositoryRepository.flush();
+                    });
+                }
+                eventPublisher.publishEvent(new RepositoriesChangedEvent(changes, toSave, source));
+            }
+            return new UpsertResult(result, inserted, updated, unchanged);
+
+        } catch (DataIntegrityViolationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save repositories: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mark repositories as checked against GitHub at the given time
+     * Bumps updatedAt of rows a refresh found unchanged or missing upstream,
+     * so they drop to the back of the refresh order, with a single statement
+     */
+    @Transactional
+    public int markChecked(Collection<Long> ids, LocalDateTime checkedAt) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        try {
+            return repositoryRepository.markChecked(ids, checkedAt);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to mark repositories as checked: " + e.getMessage(), e);
+        }
+    }
+
+    private Timer persistTimer(String operation, Source source) {
+        return Timer.builder("github.repositories.persist")
+                .description("Time spent flushing repository inserts or updates")
+                .tag("operation", operation)
+                .tag("source", source.tagValue())
+                .register(meterRegistry);
+    }
+
+    private Repository copyOf(Repository repository) {
+        return new Repository(repository.getId(), repository.getName(), repository.getDescription(),
+                repository.getOwner(), repository.getLanguage(), repository.getStars(), repository.getForks(),
+                repository.getLastUpdated());
+    }
+
+    /**
+     * Compare the fields GitHub reports, ignoring bookkeeping timestamps
+     */
+    private boolean isUnchanged(Repository existing, Repository incoming) {
+        return Objects.equals(existing.getName(), incoming.getName())
+                && Objects.equals(existing.getDescription(), incoming.getDescription())
+                && Objects.equals(existing.getOwner(), incoming.getOwner())
+                && Objects.equals(existing.getLanguage(), incoming.getLanguage())
+                && Objects.equals(existing.getStars(), incoming.getStars())
+                && Objects.equals(existing.getForks(), incoming.getForks())
+                && Objects.equals(existing.getLastUpdated(), incoming.getLastUpdated());
+    }
+
+    /**
+     * Outcome of an upsert: the resulting rows in input order and how many
+     * were inserted, updated or left unchanged
+     */
+    public record UpsertResult(List<Repository> repositories, int inserted, int updated, int unchanged) {
+    }
+}
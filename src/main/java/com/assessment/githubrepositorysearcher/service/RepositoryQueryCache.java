@@ -0,0 +1,285 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.cache.SharedCache;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.RepositoryListResponse;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of stored repository query results and repositories by id
+ * The first tier is a bounded in-process cache per instance, keyed by the
+ * (language, minStars, sort) filter tuple or the repository id and evicted by
+ * size and TTL. Entries are invalidated after commit only when a written row
+ * matched the entry's filter before or after the write
+ * When a shared cache is configured it backs the first tier on every
+ * instance, so a result loaded by one instance is served to the others
+ * without a database query. After each committed write the writer bumps a
+ * generation counter that is part of every shared query key, deletes the
+ * shared entries of the written ids, and broadcasts the change so the other
+ * instances evict their own affected entries. A repository stored by id while
+ * the generation moved is deleted again, as it may predate the write. Any
+ * shared cache failure is counted and treated as a miss
+ */
+@Component
+public class RepositoryQueryCache {
+
+    private static final String QUERY_KEY_PREFIX = "repositories:query:";
+    private static final String ID_KEY_PREFIX = "repositories:id:";
+    private static final String GENERATION_KEY = "repositories:generation";
+
+    private final Cache<QueryKey, RepositoryListResponse> cache;
+    private final Cache<Long, RepositoryDto> repositoryCache;
+    private final SharedCache sharedCache;
+    private final Duration sharedTtl;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader invalidationReader;
+    private final Counter sharedErrors;
+
+    // Identifies this instance's broadcasts, it already evicted before publishing
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Bumped before every local eviction, so a load that overlapped one can tell
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    public RepositoryQueryCache(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(maximumSize, ttl, maximumSize, Optional.empty(), ttl,
+                JsonMapper.builder().findAndAddModules().build(), meterRegistry);
+    }
+
+    @Autowired
+    public RepositoryQueryCache(
+            @Value("${github.cache.repositories.maximum-size:500}") long maximumSize,
+            @Value("${github.cache.repositories.ttl:60s}") Duration ttl,
+            @Value("${github.cache.repositories.by-id.maximum-size:10000}") long maximumRepositories,
+            Optional<SharedCache> sharedCache,
+            @Value("${github.cache.shared.ttl:5m}") Duration sharedTtl,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.repositoryCache = Caffeine.newBuilder()
+                .maximumSize(maximumRepositories)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.sharedCache = sharedCache.orElse(null);
+        this.sharedTtl = sharedTtl;
+        this.objectMapper = objectMapper;
+        this.invalidationReader = objectMapper.readerFor(Invalidation.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        // Publishing hit, miss and eviction counts as cache.* metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "repositoryQueries");
+        CaffeineCacheMetrics.monitor(meterRegistry, repositoryCache, "repositoryLookups");
+        this.sharedErrors = Counter.builder("github.cache.shared.errors")
+                .description("Shared cache operations that failed and fell back to the database")
+                .register(meterRegistry);
+
+        if (this.sharedCache != null) {
+            this.sharedCache.subscribe(this::onInvalidation);
+        }
+    }
+
+    /**
+     * Return the cached response for the key, loading it on a miss
+     * Concurrent misses for the same key on one instance share a single load;
+     * a local miss is looked up in the shared cache before calling the loader
+     * A result loaded while a write was evicting may predate that write, so it
+     * is returned but not kept
+     */
+    public RepositoryListResponse get(QueryKey key, Supplier<RepositoryListResponse> loader) {
+        long generation = localGeneration.get();
+        RepositoryListResponse response = cache.get(key,
+                k -> loadThrough(sharedQueryKey(k), RepositoryListResponse.class, loader, false));
+        if (localGeneration.get() != generation) {
+            cache.asMap().remove(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Return the cached repository with the id, loading it on a miss
+     * A loader result of null (no such repository) is not cached, nor is one
+     * loaded while a write was evicting
+     */
+    public RepositoryDto getById(Long id, Function<Long, RepositoryDto> loader) {
+        long generation = localGeneration.get();
+        RepositoryDto repository = repositoryCache.get(id, k -> loadThrough(ID_KEY_PREFIX + k, RepositoryDto.class,
+                () -> loader.apply(k), true));
+        if (repository != null && localGeneration.get() != generation) {
+            repositoryCache.asMap().remove(id, repository);
+        }
+        return repository;
+    }
+
+    /**
+     * Evict cached results affected by committed repository writes
+     * Evicts this instance's entries, then invalidates the shared entries and
+     * broadcasts the change to the other instances
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepositoriesChanged(RepositoriesChangedEvent event) {
+        List<RepositoryChange> changes = event.getChanges();
+        evictLocal(changes);
+
+        if (sharedCache == null || changes.isEmpty()) {
+            return;
+        }
+        try {
+            // New generation first, so no instance reads a query result cached before the write
+            sharedCache.increment(GENERATION_KEY);
+            sharedCache.evict(changes.stream().map(change -> ID_KEY_PREFIX + change.id()).toList());
+            sharedCache.publish(objectMapper.writeValueAsBytes(new Invalidation(nodeId, changes)));
+        } catch (Exception e) {
+            sharedErrors.increment();
+        }
+    }
+
+    /**
+     * Identifier carried by the invalidations this instance broadcasts
+     */
+    String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Drop every result cached by this instance
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        repositoryCache.invalidateAll();
+    }
+
+    private void evictLocal(List<RepositoryChange> changes) {
+        localGeneration.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> changes.stream().anyMatch(key::isAffectedBy));
+        repositoryCache.invalidateAll(changes.stream().map(RepositoryChange::id).toList());
+    }
+
+    private void onInvalidation(byte[] message) {
+        try {
+            Invalidation invalidation = invalidationReader.readValue(message);
+            if (!nodeId.equals(invalidation.origin())) {
+                evictLocal(invalidation.changes());
+            }
+        } catch (Exception e) {
+            sharedErrors.increment();
+        }
+    }
+
+    /**
+     * Shared key of a query under the current generation, or null when the
+     * shared cache is unavailable
+     * Read before the loader runs, so a result loaded before a concurrent
+     * write is stored under the generation that write retires
+     */
+    private String sharedQueryKey(QueryKey key) {
+        if (sharedCache == null) {
+            return null;
+        }
+        try {
+            return QUERY_KEY_PREFIX + sharedGeneration() + ":" + objectMapper.writeValueAsString(key);
+        } catch (Exception e) {
+            sharedErrors.increment();
+            return null;
+        }
+    }
+
+    private String sharedGeneration() {
+        byte[] generation = sharedCache.get(GENERATION_KEY);
+        return generation != null ? new String(generation, StandardCharsets.UTF_8) : "0";
+    }
+
+    /**
+     * Look the key up in the shared cache, loading and storing it on a miss
+     * An unversioned key is checked against the generation after the put: a
+     * writer bumps the generation before deleting the key, so either it deletes
+     * this put or the moved generation shows the value may be older than its write
+     */
+    private <T> T loadThrough(String sharedKey, Class<T> type, Supplier<T> loader, boolean unversioned) {
+        if (sharedCache == null || sharedKey == null) {
+            return loader.get();
+        }
+
+        String generation = null;
+        try {
+            byte[] cached = sharedCache.get(sharedKey);
+            if (cached != null) {
+                return objectMapper.readValue(cached, type);
+            }
+            if (unversioned) {
+                generation = sharedGeneration();
+            }
+        } catch (Exception e) {
+            sharedErrors.increment();
+        }
+
+        T value = loader.get();
+        if (value != null && (!unversioned || generation != null)) {
+            try {
+                sharedCache.put(sharedKey, objectMapper.writeValueAsBytes(value), sharedTtl);
+                if (unversioned && !generation.equals(sharedGeneration())) {
+                    sharedCache.evict(List.of(sharedKey));
+                }
+            } catch (Exception e) {
+                sharedErrors.increment();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Cache key for a stored repository query
+     */
+    public record QueryKey(String language, Integer minStars, String sort) {
+
+        /**
+         * Check whether a written row was or is part of this query's result
+         */
+        public boolean isAffectedBy(RepositoryChange change) {
+            return matches(change.previousLanguage(), change.previousStars())
+                    || matches(change.language(), change.stars());
+        }
+
+        private boolean matches(String rowLanguage, Integer rowStars) {
+            if (rowStars == null) {
+                return false;
+            }
+            boolean languageMatches = language == null || language.equals(rowLanguage);
+            boolean starsMatch = minStars == null || rowStars >= minStars;
+            return languageMatches && starsMatch;
+        }
+    }
+
+    /**
+     * Broadcast message carrying committed writes to the other instances
+     */
+    record Invalidation(String origin, List<RepositoryChange> changes) {
+    }
+}
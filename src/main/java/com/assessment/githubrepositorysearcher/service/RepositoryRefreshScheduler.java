@@ -0,0 +1,247 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background refresh of stored repositories
+ * Every interval the least recently refreshed rows past the stale-after age
+ * are read through the (updated_at, id) index; out of a window of the oldest
+ * candidates the batch is chosen by staleness weighted by popularity, and each
+ * repository is re-fetched with GET /repositories/{id}
+ * Calls go through the shared rate limited WebClient, but only while the
+ * limiter reports spare search budget above the configured reserve and no
+ * interactive search is waiting, so refreshes yield to searches, and while
+ * the core budget the lookups spend is above the reserve with no Retry-After
+ * or rejection backoff in effect
+ * Changed rows are written by the delta-aware upsert; unchanged and deleted
+ * repositories are marked as checked so they move to the back of the order
+ * Refresh lag, how far the most overdue repository is past its refresh age,
+ * is published as github.refresh.lag
+ */
+@Component
+public class RepositoryRefreshScheduler {
+
+    // Candidates read per batch slot, so popular rows can overtake slightly older ones
+    private static final int CANDIDATE_WINDOW = 4;
+
+    private final RepositoryRepository repositoryRepository;
+    private final RepositoryPersistenceService persistenceService;
+    private final RepositoryMapper repositoryMapper;
+    private final GitHubSearchDecoder gitHubSearchDecoder;
+    private final GitHubRateLimiter rateLimiter;
+    private final WebClient gitHubWebClient;
+    private final String repositoryUrl;
+    private final boolean enabled;
+    private final Duration staleAfter;
+    private final int batchSize;
+    private final int concurrency;
+    private final int rateLimitReserve;
+
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    private volatile LocalDateTime oldestUpdatedAt;
+
+    public RepositoryRefreshScheduler(
+            RepositoryRepository repositoryRepository,
+            RepositoryPersistenceService persistenceService,
+            RepositoryMapper repositoryMapper,
+            GitHubSearchDecoder gitHubSearchDecoder,
+            GitHubRateLimiter rateLimiter,
+            WebClient gitHubWebClient,
+            MeterRegistry meterRegistry,
+            @Value("${github.api.base-url}") String gitHubApiBaseUrl,
+            @Value("${github.api.repository-endpoint:/repositories/{id}}") String repositoryEndpoint,
+            @Value("${github.refresh.enabled:false}") boolean enabled,
+            @Value("${github.refresh.stale-after:6h}") Duration staleAfter,
+            @Value("${github.refresh.batch-size:50}") int batchSize,
+            @Value("${github.refresh.concurrency:2}") int concurrency,
+            @Value("${github.refresh.rate-limit-reserve:10}") int rateLimitReserve) {
+        this.repositoryRepository = repositoryRepository;
+        this.persistenceService = persistenceService;
+        this.repositoryMapper = repositoryMapper;
+        this.gitHubSearchDecoder = gitHubSearchDecoder;
+        this.rateLimiter = rateLimiter;
+        this.gitHubWebClient = gitHubWebClient;
+        this.repositoryUrl = gitHubApiBaseUrl + repositoryEndpoint;
+        this.enabled = enabled;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.rateLimitReserve = rateLimitReserve;
+
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("github.refresh.repositories")
+                    .description("Stored repositories handled by the background refresh")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        TimeGauge.builder("github.refresh.lag", this, TimeUnit.SECONDS, RepositoryRefreshScheduler::getLagSeconds)
+                .description("How far the least recently refreshed repository is past its refresh age")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run one refresh batch every interval when the refresh is enabled
+     */
+    @Scheduled(fixedDelayString = "${github.refresh.interval:60s}",
+            initialDelayString = "${github.refresh.interval:60s}")
+    public void refreshOnSchedule() {
+        if (enabled) {
+            refreshStaleRepositories();
+        }
+    }
+
+    /**
+     * Refresh one batch of stale repositories
+     * Calls that find no spare rate limit budget are deferred to a later batch
+     */
+    public RefreshResult refreshStaleRepositories() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Repository> candidates = repositoryRepository.findByUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(
+                now.minus(staleAfter), Limit.of(batchSize * CANDIDATE_WINDOW));
+        List<Repository> batch = prioritize(candidates, now);
+
+        List<Fetch> fetches = batch.isEmpty()
+                ? List.of()
+                : Flux.fromIterable(batch)
+                        .flatMap(repository -> fetchRepository(repository.getId()), concurrency)
+                        .collectList()
+                        .block();
+
+        List<Repository> fetched = new ArrayList<>();
+        List<Long> checked = new ArrayList<>();
+        int missing = 0;
+        int failed = 0;
+        int deferred = 0;
+        for (Fetch fetch : fetches) {
+            switch (fetch.status()) {
+                case FETCHED -> {
+                    fetched.add(repositoryMapper.toEntity(fetch.repository()));
+                    checked.add(fetch.id());
+                }
+                case MISSING -> {
+                    checked.add(fetch.id());
+                    missing++;
+                }
+                case FAILED -> failed++;
+                default -> deferred++;
+            }
+        }
+
+        RepositoryPersistenceService.UpsertResult upsert = persistenceService.upsertAll(fetched, Source.REFRESH);
+        persistenceService.markChecked(checked, LocalDateTime.now());
+        oldestUpdatedAt = repositoryRepository.findOldestUpdatedAt();
+
+        RefreshResult result = new RefreshResult(
+                upsert.inserted() + upsert.updated(), upsert.unchanged(), missing, failed, deferred);
+        outcomeCounters.get(Outcome.UPDATED).increment(result.updated());
+        outcomeCounters.get(Outcome.UNCHANGED).increment(result.unchanged());
+        outcomeCounters.get(Outcome.MISSING).increment(result.missing());
+        outcomeCounters.get(Outcome.FAILED).increment(result.failed());
+        outcomeCounters.get(Outcome.DEFERRED).increment(result.deferred());
+        return result;
+    }
+
+    /**
+     * Seconds the least recently refreshed repository is past its refresh age
+     * Zero while the refresh keeps up or before the first batch has run
+     */
+    public double getLagSeconds() {
+        LocalDateTime oldest = oldestUpdatedAt;
+        if (oldest == null) {
+            return 0;
+        }
+        Duration lag = Duration.between(oldest.plus(staleAfter), LocalDateTime.now());
+        return lag.isNegative() ? 0 : lag.toMillis() / 1000.0;
+    }
+
+    /**
+     * Order candidates by staleness weighted by popularity and keep one batch
+     * A repository with 10k stars is treated as five times as overdue as an
+     * equally stale repository without stars
+     */
+    private List<Repository> prioritize(List<Repository> candidates, LocalDateTime now) {
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble((Repository repository) -> priority(repository, now)).reversed())
+                .limit(batchSize)
+                .toList();
+    }
+
+    private double priority(Repository repository, LocalDateTime now) {
+        double staleSeconds = Math.max(1, Duration.between(repository.getUpdatedAt(), now).toSeconds());
+        return staleSeconds * (1 + Math.log10(1 + Math.max(0, repository.getStars())));
+    }
+
+    /**
+     * Fetch one repository, or defer it when the rate limiter has no spare
+     * search or core budget, so a rate limit rejection defers the rest of the
+     * batch and later batches until the limiter's pause is over
+     * A 404 means the repository was deleted or made private; other failures
+     * leave the row stale so a later batch retries it
+     */
+    private Mono<Fetch> fetchRepository(Long id) {
+        return Mono.defer(() -> {
+            if (!rateLimiter.hasBackgroundBudget(rateLimitReserve) || !rateLimiter.hasCoreBudget(rateLimitReserve)) {
+                return Mono.just(new Fetch(id, FetchStatus.DEFERRED, null));
+            }
+            return gitHubWebClient
+                    .get()
+                    .uri(repositoryUrl, id)
+                    .retrieve()
+                    .bodyToMono(byte[].class)
+                    .map(body -> {
+                        RepositoryDto repository = gitHubSearchDecoder.decodeRepository(body);
+                        return repository != null
+                                ? new Fetch(id, FetchStatus.FETCHED, repository)
+                                : new Fetch(id, FetchStatus.FAILED, null);
+                    })
+                    .onErrorResume(e -> Mono.just(new Fetch(id,
+                            e instanceof WebClientResponseException.NotFound ? FetchStatus.MISSING : FetchStatus.FAILED,
+                            null)));
+        });
+    }
+
+    /**
+     * Repositories handled by one refresh batch, by outcome
+     */
+    public record RefreshResult(int updated, int unchanged, int missing, int failed, int deferred) {
+    }
+
+    private enum Outcome {
+        UPDATED, UNCHANGED, MISSING, FAILED, DEFERRED
+    }
+
+    private enum FetchStatus {
+        FETCHED, MISSING, FAILED, DEFERRED
+    }
+
+    /**
+     * Result of fetching one repository; a fetched repository carries its
+     * decoded data, whether it actually changed is decided by the upsert
+     */
+    private record Fetch(Long id, FetchStatus status, RepositoryDto repository) {
+    }
+}
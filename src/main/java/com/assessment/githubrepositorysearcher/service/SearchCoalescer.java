@@ -0,0 +1,91 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer for GitHub searches
+ * Concurrent searches with the same normalized request share one in-flight
+ * upstream call and persistence pass, and every caller receives the same
+ * SearchResponse. The entry is dropped when the search terminates, before
+ * its result is published, so later searches always go upstream again
+ */
+@Component
+public class SearchCoalescer {
+
+    private final Map<SearchKey, Mono<SearchResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public SearchCoalescer(MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("github.search.coalesced")
+                .description("Searches that joined an identical in-flight search")
+                .register(meterRegistry);
+        Gauge.builder("github.search.in.flight", inFlight, Map::size)
+                .description("Distinct GitHub searches currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the search, or join the identical one that is already running
+     * Failures are shared with the callers that joined but not cached
+     */
+    public Mono<SearchResponse> coalesce(SearchKey key, Supplier<Mono<SearchResponse>> search) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<SearchResponse>> self = new AtomicReference<>();
+            // Removed before the result reaches the cache, so no later caller joins a finished search
+            Mono<SearchResponse> candidate = Mono.defer(search)
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(candidate);
+
+            Mono<SearchResponse> running = inFlight.putIfAbsent(key, candidate);
+            if (running != null) {
+                coalescedCounter.increment();
+                return running;
+            }
+            return candidate;
+        });
+    }
+
+    /**
+     * Number of distinct searches currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Normalized identity of a search request
+     * Query and language are trimmed, language and sort compared case
+     * insensitively, and defaults are applied so equivalent requests match
+     */
+    public record SearchKey(String query, String language, String sort, int maxResults) {
+
+        public static SearchKey of(SearchRequest searchRequest, int defaultMaxResults) {
+            return new SearchKey(
+                    searchRequest.getQuery() != null ? searchRequest.getQuery().trim() : null,
+                    normalize(searchRequest.getLanguage()),
+                    normalize(searchRequest.getSort()),
+                    searchRequest.getMaxResults() != null ? searchRequest.getMaxResults() : defaultMaxResults);
+        }
+
+        private static String normalize(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind persistence for search results
+ * Searches hand their entities to a bounded queue and return without waiting
+ * for the database; a single background worker drains the queue in batches
+ * through RepositoryPersistenceService. Pending writes are coalesced by
+ * repository id so only the latest version of a row is written
+ * When the queue is full the caller waits up to the offer timeout and then
+ * writes the overflow itself, which bounds memory and slows producers down
+ * Every write, by the worker or a caller, takes its rows and the write lock
+ * under the queue lock, so writes reach the database in the order their rows
+ * left the queue and an older version of a row never overwrites a newer one
+ * A failed batch is retried a few times and then logged and dropped; the
+ * stored GitHub validators are then forgotten, since a 304 for a page whose
+ * rows were dropped would otherwise keep them unwritten
+ * The queue is drained on shutdown after the web server has stopped
+ */
+@Component
+public class WriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private final RepositoryPersistenceService persistenceService;
+    private final GitHubResponseCache responseCache;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    // Pending writes in arrival order, guarded by lock
+    private final Map<Long, Repository> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // Held for the duration of each write, acquired while holding lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Counter coalescedCounter;
+    private final Counter callerRunsCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public WriteBehindQueue(
+            RepositoryPersistenceService persistenceService,
+            GitHubResponseCache responseCache,
+            MeterRegistry meterRegistry,
+            @Value("${github.persistence.write-behind.enabled:false}") boolean enabled,
+            @Value("${github.persistence.write-behind.capacity:10000}") int capacity,
+            @Value("${github.persistence.write-behind.batch-size:500}") int batchSize,
+            @Value("${github.persistence.write-behind.flush-interval:200ms}") Duration flushInterval,
+            @Value("${github.persistence.write-behind.offer-timeout:1s}") Duration offerTimeout) {
+        this.persistenceService = persistenceService;
+        this.responseCache = responseCache;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+
+        Gauge.builder("github.persistence.write-behind.queue.depth", this, WriteBehindQueue::getQueueDepth)
+                .description("Repository writes waiting in the write-behind queue")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("github.persistence.write-behind.coalesced")
+                .description("Pending repository writes replaced by a newer version of the same row")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("github.persistence.write-behind.caller.runs")
+                .description("Repository writes performed by the caller because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("github.persistence.write-behind.failed")
+                .description("Repository writes dropped after a failed batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether searches should hand their writes to this queue
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue repositories for writing
+     * Writes synchronously when the worker is not running
+     */
+    public void enqueue(List<Repository> repositories) {
+        List<Repository> overflow = new ArrayList<>();
+        lock.lock();
+        try {
+            long remainingNanos = offerTimeout.toNanos();
+            for (Repository repository : repositories) {
+                if (running && pending.containsKey(repository.getId())) {
+                    // Replacing keeps the original position and needs no free slot
+                    pending.put(repository.getId(), repository);
+                    coalescedCounter.increment();
+                    continue;
+                }
+                // Once a row overflowed the wait is over, so the lock is not released again
+                while (running && pending.size() >= capacity && remainingNanos > 0) {
+                    remainingNanos = notFull.awaitNanos(remainingNanos);
+                }
+                // Writing directly when full, or when the queue is stopped
+                if (!running || pending.size() >= capacity) {
+                    overflow.add(repository);
+                    if (running) {
+                        callerRunsCounter.increment();
+                    }
+                } else {
+                    pending.put(repository.getId(), repository);
+                }
+            }
+            if (pending.size() >= batchSize) {
+                batchReady.signal();
+            }
+            if (!overflow.isEmpty()) {
+                // Taking the write lock before releasing the queue lock keeps this write in line
+                writeLock.lock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing repositories: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (!overflow.isEmpty()) {
+            try {
+                write(overflow);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Write every pending repository on the calling thread
+     */
+    public void flush() {
+        while (writeNextBatch()) {
+            // Writing until the queue is empty
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("write-behind")
+                .daemon(true)
+                .start(this::drainUntilStopped);
+    }
+
+    /**
+     * Stop accepting queued writes and wait until the worker has drained the queue
+     */
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            batchReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (worker != null) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * Stopping after the web server so writes of in-flight searches are drained
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainUntilStopped() {
+        while (true) {
+            lock.lock();
+            try {
+                // Letting writes accumulate into a full batch for at most one flush interval
+                long waitNanos = flushInterval.toNanos();
+                while (running && pending.size() < batchSize && waitNanos > 0) {
+                    waitNanos = batchReady.awaitNanos(waitNanos);
+                }
+                if (!running && pending.isEmpty()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            writeNextBatch();
+        }
+    }
+
+    /**
+     * Remove up to one batch of pending writes, oldest first, and write it
+     *
+     * @return false when there was nothing to write
+     */
+    private boolean writeNextBatch() {
+        List<Repository> batch = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<Repository> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            notFull.signalAll();
+            writeLock.lock();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            write(batch);
+        } finally {
+            writeLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Upsert a batch, retrying failures with a growing pause
+     * A batch that still fails is logged and dropped
+     */
+    private void write(List<Repository> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persistenceService.upsertAll(batch, Source.WRITE_BEHIND);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    drop(batch);
+                    log.error("Dropped {} queued repository writes after {} attempts: {}",
+                            batch.size(), attempt, e.getMessage(), e);
+                    return;
+                }
+                log.warn("Write of {} queued repositories failed, retrying: {}", batch.size(), e.getMessage());
+            }
+            try {
+                Thread.sleep(RETRY_BACKOFF.multipliedBy(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop(batch);
+                log.error("Dropped {} queued repository writes, interrupted while retrying", batch.size());
+                return;
+            }
+        }
+    }
+
+    private void drop(List<Repository> batch) {
+        failedCounter.increment(batch.size());
+        responseCache.invalidateAll();
+    }
+}
@@ -0,0 +1,14 @@
+-- Repositories fetched from the GitHub search API
+-- IF NOT EXISTS keeps databases created earlier by Hibernate ddl-auto=update working
+CREATE TABLE IF NOT EXISTS repositories (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    description  TEXT,
+    owner        VARCHAR(255) NOT NULL,
+    language     VARCHAR(255),
+    stars        INTEGER      NOT NULL,
+    forks        INTEGER      NOT NULL,
+    last_updated TIMESTAMP(6) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
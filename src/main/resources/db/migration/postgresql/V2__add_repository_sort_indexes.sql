@@ -0,0 +1,5 @@
+-- Composite indexes for the language filter combined with each sort option
+-- id is the keyset pagination tie breaker, so index scans return rows in final order
+CREATE INDEX IF NOT EXISTS idx_repositories_language_stars ON repositories (language, stars, id);
+CREATE INDEX IF NOT EXISTS idx_repositories_language_forks ON repositories (language, forks, id);
+CREATE INDEX IF NOT EXISTS idx_repositories_language_last_updated ON repositories (language, last_updated, id);
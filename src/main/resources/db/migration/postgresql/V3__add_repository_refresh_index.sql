@@ -0,0 +1,2 @@
+-- Index for the background refresh, which reads the least recently refreshed rows first
+CREATE INDEX IF NOT EXISTS idx_repositories_updated_at ON repositories (updated_at, id);
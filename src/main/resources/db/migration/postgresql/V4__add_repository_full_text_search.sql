@@ -0,0 +1,11 @@
+-- Full-text search over name, owner and description
+-- The tsvector is generated by PostgreSQL on every write, so the application never maintains it;
+-- names and owners weigh more than descriptions in ts_rank_cd
+ALTER TABLE repositories ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(owner, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_repositories_search_vector ON repositories USING GIN (search_vector);
@@ -0,0 +1,16 @@
+-- Per-language aggregates of stored repositories, maintained incrementally by the application
+-- Backfilled once from the existing rows; repositories without a language are not aggregated
+CREATE TABLE IF NOT EXISTS language_stats (
+    language         VARCHAR(255) NOT NULL PRIMARY KEY,
+    repository_count BIGINT       NOT NULL,
+    total_stars      BIGINT       NOT NULL,
+    total_forks      BIGINT       NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO language_stats (language, repository_count, total_stars, total_forks, updated_at)
+SELECT language, COUNT(*), SUM(stars), SUM(forks), now()
+FROM repositories
+WHERE language IS NOT NULL
+GROUP BY language
+ON CONFLICT (language) DO NOTHING;
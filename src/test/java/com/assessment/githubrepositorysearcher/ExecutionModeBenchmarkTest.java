@@ -0,0 +1,92 @@
+package com.assessment.githubrepositorysearcher;
+
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark comparing platform and virtual thread execution modes
+ * Starts the application once per mode with four Tomcat workers and drives
+ * the blocking search endpoint against a slow stub GitHub server, counting
+ * how many upstream calls overlap
+ */
+public class ExecutionModeBenchmarkTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final long UPSTREAM_DELAY_MILLIS = 300;
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    /**
+     * Test that virtual thread mode is not capped by the Tomcat worker pool
+     * Platform mode runs at most four blocking searches at a time, virtual
+     * mode lets every search reach the stub GitHub server concurrently
+     */
+    @Test
+    public void testVirtualThreads_NotCappedByTomcatThreads() {
+        int platformInFlight = runLoad(false);
+        int virtualInFlight = runLoad(true);
+
+        assertTrue(platformInFlight <= 4, "Platform threads overlapped " + platformInFlight + " upstream calls");
+        assertTrue(virtualInFlight > 4, "Virtual threads overlapped only " + virtualInFlight + " upstream calls");
+    }
+
+    private int runLoad(boolean virtualThreads) {
+        stubServer.reset();
+        stubServer.setDelayMillis(UPSTREAM_DELAY_MILLIS);
+        AtomicLong nextId = new AtomicLong(virtualThreads ? 1_000 : 0);
+        stubServer.setResponder(request ->
+                StubResponse.ok(StubGitHubServer.searchResponseJson(nextId.incrementAndGet())));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                GithubRepositorySearcherApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, which application.properties overrides
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=4",
+                        "--server.tomcat.threads.min-spare=1",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--github.api.base-url=" + stubServer.getBaseUrl())) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/github/search"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"query\":\"spring boot " + i + "\"}"))
+                        .build();
+                responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+            responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+            assertEquals(CONCURRENT_REQUESTS, stubServer.getRequestCount());
+            return stubServer.getMaxInFlight();
+        }
+    }
+}
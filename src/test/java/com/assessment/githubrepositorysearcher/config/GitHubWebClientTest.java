@@ -0,0 +1,116 @@
+package com.assessment.githubrepositorysearcher.config;
+
+import com.assessment.githubrepositorysearcher.dto.GitHubSearchResponse;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the shared GitHub WebClient
+ * Calls go to a local stub GitHub server returning a 30 item search response;
+ * the connection pool is observed through its reactor.netty metrics
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class GitHubWebClientTest {
+
+    private static final int SEQUENTIAL_CALLS = 20;
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private WebClient gitHubWebClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setResponder(request -> StubResponse.ok(
+                StubGitHubServer.searchResponseJson(LongStream.rangeClosed(1, 30).toArray())));
+    }
+
+    /**
+     * Test that the shared client requests compression and publishes pool metrics
+     */
+    @Test
+    public void testSharedClient_CompressionAndPoolMetrics() {
+        // When
+        call();
+
+        // Then
+        assertTrue(stubServer.getRequests().get(0).header("Accept-Encoding").contains("gzip"));
+        assertNotNull(meterRegistry.find("reactor.netty.connection.provider.total.connections")
+                .tag("name", "github")
+                .gauge());
+    }
+
+    /**
+     * Test that sequential calls share one pooled connection
+     * Each call waits until its connection is back in the pool, so the next
+     * call finds it idle; opening a connection per call would leave one idle
+     * connection per call in the pool
+     */
+    @Test
+    public void testSharedClient_ReusesPooledConnection() {
+        // When
+        for (int i = 0; i < SEQUENTIAL_CALLS; i++) {
+            call();
+            awaitConnectionsReleased();
+        }
+
+        // Then
+        assertEquals(SEQUENTIAL_CALLS, stubServer.getRequestCount());
+        assertEquals(1.0, poolGauge("total"));
+    }
+
+    private void call() {
+        GitHubSearchResponse response = gitHubWebClient.get()
+                .uri(stubServer.getBaseUrl() + "/search/repositories?q=benchmark")
+                .retrieve()
+                .bodyToMono(GitHubSearchResponse.class)
+                .block();
+        assertEquals(30, response.getItems().size());
+    }
+
+    private void awaitConnectionsReleased() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (poolGauge("active") > 0) {
+            assertTrue(System.nanoTime() < deadline, "Connection was not released to the pool");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Sum of a pool gauge over the connections to the stub server
+     */
+    private double poolGauge(String name) {
+        String port = ":" + URI.create(stubServer.getBaseUrl()).getPort();
+        return meterRegistry.find("reactor.netty.connection.provider." + name + ".connections")
+                .tag("name", "github")
+                .gauges().stream()
+                .filter(gauge -> gauge.getId().getTag("remote.address").endsWith(port))
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+}
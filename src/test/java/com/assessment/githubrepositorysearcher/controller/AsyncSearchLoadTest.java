@@ -0,0 +1,117 @@
+package com.assessment.githubrepositorysearcher.controller;
+
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for the asynchronous search endpoint
+ * Runs Tomcat with two worker threads against a slow stub GitHub server and
+ * checks that concurrent asynchronous searches overlap instead of queueing
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=2",
+        "server.tomcat.threads.min-spare=1"
+})
+@ActiveProfiles("test")
+public class AsyncSearchLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 10;
+    private static final long UPSTREAM_DELAY_MILLIS = 500;
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    /**
+     * Reset the stub so every upstream call returns a distinct repository
+     */
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setDelayMillis(UPSTREAM_DELAY_MILLIS);
+        AtomicLong nextId = new AtomicLong();
+        stubServer.setResponder(request ->
+                StubResponse.ok(StubGitHubServer.searchResponseJson(nextId.incrementAndGet())));
+    }
+
+    /**
+     * Test that asynchronous searches are not capped by Tomcat worker threads
+     * Verifies that more upstream calls overlap than the two Tomcat workers
+     * could hold open
+     */
+    @Test
+    public void testAsyncSearch_NotCappedByTomcatThreads() {
+        runConcurrentSearches("/api/github/search/async");
+
+        assertTrue(stubServer.getMaxInFlight() > 2,
+                "Only " + stubServer.getMaxInFlight() + " upstream calls overlapped");
+    }
+
+    /**
+     * Test the blocking endpoint as a baseline
+     * Verifies that the blocking path is limited by the two Tomcat workers
+     */
+    @Test
+    public void testBlockingSearch_CappedByTomcatThreads() {
+        long elapsedMillis = runConcurrentSearches("/api/github/search");
+
+        assertTrue(elapsedMillis >= UPSTREAM_DELAY_MILLIS * CONCURRENT_REQUESTS / 2,
+                "Blocking searches took " + elapsedMillis + "ms");
+        assertTrue(stubServer.getMaxInFlight() <= 2);
+    }
+
+    private long runConcurrentSearches(String path) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Content-Type", "application/json")
+                    // Distinct queries, identical ones would be coalesced into a single upstream call
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"query\":\"spring boot " + i + "\",\"sort\":\"stars\"}"))
+                    .build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        responses.forEach(response -> assertEquals(200, response.join().statusCode(), response.join().body()));
+        assertEquals(CONCURRENT_REQUESTS, stubServer.getRequestCount());
+        return elapsedMillis;
+    }
+}
@@ -1,7 +1,11 @@
 package com.assessment.githubrepositorysearcher.controller;
 
+import com.assessment.githubrepositorysearcher.dto.BatchSearchRequest;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
 import com.assessment.githubrepositorysearcher.dto.SearchRequest;
 import com.assessment.githubrepositorysearcher.service.GitHubService;
+import com.assessment.githubrepositorysearcher.service.LanguageStatsService;
+import com.assessment.githubrepositorysearcher.service.RepositoryExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +14,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +34,12 @@ public class GitHubControllerTest {
     @MockBean
     private GitHubService gitHubService;
 
+    @MockBean
+    private RepositoryExportService exportService;
+
+    @MockBean
+    private LanguageStatsService languageStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,6 +85,43 @@ public class GitHubControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Test batch search with valid searches
+     * Verifies that a list of valid searches returns HTTP 200 OK
+     */
+    @Test
+    public void testSearchRepositoriesBatch_ValidRequest() throws Exception {
+        BatchSearchRequest request = new BatchSearchRequest(List.of(
+                new SearchRequest("spring boot", "Java", "stars"),
+                new SearchRequest("fastapi", "Python", "stars")));
+
+        mockMvc.perform(post("/api/github/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test validation failure for empty batches and invalid searches in a batch
+     * Verifies that both are rejected with HTTP 400
+     */
+    @Test
+    public void testSearchRepositoriesBatch_InvalidRequest() throws Exception {
+        mockMvc.perform(post("/api/github/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchSearchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        BatchSearchRequest request = new BatchSearchRequest(List.of(
+                new SearchRequest("spring boot", "Java", "stars"),
+                new SearchRequest("", "Java", "stars")));
+
+        mockMvc.perform(post("/api/github/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Test repository retrieval without any filter parameters
      * Verifies that endpoint works with default parameters and returns HTTP 200
@@ -103,4 +153,77 @@ public class GitHubControllerTest {
                 .param("minStars", "100"))
                 .andExpect(status().isOk());
     }
+
+    /**
+     * Test repository retrieval with paging parameters
+     * Verifies that page size and cursor parameters are accepted
+     */
+    @Test
+    public void testGetRepositories_WithPaging() throws Exception {
+        mockMvc.perform(get("/api/github/repositories")
+                .param("size", "10")
+                .param("after", "c3RhcnN8MTAwfDE"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test repository retrieval with full-text search
+     * Verifies that the q parameter is accepted together with the filters
+     */
+    @Test
+    public void testGetRepositories_WithTextSearch() throws Exception {
+        mockMvc.perform(get("/api/github/repositories")
+                .param("q", "spring boot")
+                .param("language", "Java")
+                .param("page", "0"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test language aggregates retrieval with language and top parameters
+     * Verifies that invalid top counts reported by the service return HTTP 400
+     */
+    @Test
+    public void testGetLanguageStats() throws Exception {
+        when(languageStatsService.getLanguageStats("Java", 500))
+                .thenThrow(new IllegalArgumentException("Invalid top parameter. Must be between 0 and 100"));
+
+        mockMvc.perform(get("/api/github/repositories/languages")
+                .param("language", "Java")
+                .param("top", "5"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/github/repositories/languages")
+                .param("language", "Java")
+                .param("top", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test repository retrieval by id
+     * Verifies that stored repositories return HTTP 200 and missing ones HTTP 404
+     */
+    @Test
+    public void testGetRepositoryById() throws Exception {
+        when(gitHubService.getStoredRepository(123456L))
+                .thenReturn(new RepositoryDto(123456L, "test-repo", null, "testowner", "Java", 100, 50, null));
+
+        mockMvc.perform(get("/api/github/repositories/123456"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("test-repo"));
+
+        mockMvc.perform(get("/api/github/repositories/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test that unsupported export formats are rejected
+     * Verifies that an unknown format returns HTTP 400
+     */
+    @Test
+    public void testExportRepositories_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/github/repositories/export")
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.assessment.githubrepositorysearcher.repository;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for findRepositoriesWithFilters
+ * Captures the SQL Hibernate generates for each sort option and runs EXPLAIN on
+ * it, so a regression back to a table scan (e.g. a CASE based ORDER BY or
+ * "IS NULL OR" predicates) fails the build
+ * The plans are H2's over the indexes Hibernate generates from the entity, not
+ * PostgreSQL's over the V1/V2 migrations. H2 does not scan an index backwards
+ * for a descending sort, so it only shows that the language filter is served
+ * by one of the composite language indexes
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.assessment.githubrepositorysearcher.repository.RepositoryQueryPlanTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+public class RepositoryQueryPlanTest {
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Seed repositories across several languages before each test
+     */
+    @BeforeEach
+    void setUp() {
+        String[] languages = {"Java", "Python", "Go", "Rust", "Kotlin"};
+        for (long id = 1; id <= 200; id++) {
+            repositoryRepository.save(new Repository(
+                    id, "repo" + id, "Description " + id, "owner" + id,
+                    languages[(int) (id % languages.length)], (int) id, (int) id / 2, LocalDateTime.now()));
+        }
+        repositoryRepository.flush();
+    }
+
+    @Test
+    public void testStarsSortUsesLanguageIndex() {
+        assertPlanUsesLanguageIndex("stars");
+    }
+
+    @Test
+    public void testForksSortUsesLanguageIndex() {
+        assertPlanUsesLanguageIndex("forks");
+    }
+
+    @Test
+    public void testUpdatedSortUsesLanguageIndex() {
+        assertPlanUsesLanguageIndex("updated");
+    }
+
+    private void assertPlanUsesLanguageIndex(String sort) {
+        // Given
+        CapturingStatementInspector.statements.clear();
+
+        // When
+        repositoryRepository.findRepositoriesWithFilters("Java", null, sort);
+        String sql = CapturingStatementInspector.statements.stream()
+                .filter(statement -> statement.toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, "Java");
+        String plan = rows.stream()
+                .flatMap(row -> row.values().stream())
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n"))
+                .toUpperCase();
+
+        // Then
+        assertTrue(plan.contains("IDX_REPOSITORIES_LANGUAGE_"), "Expected a language index in plan:\n" + plan);
+        assertFalse(plan.contains("TABLESCAN"), "Unexpected table scan in plan:\n" + plan);
+    }
+
+    /**
+     * Hibernate statement inspector recording every SQL statement it prepares
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
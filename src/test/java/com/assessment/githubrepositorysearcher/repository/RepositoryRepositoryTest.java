@@ -1,9 +1,13 @@
 package com.assessment.githubrepositorysearcher.repository;
 
 import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.service.RepositoryCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,6 +16,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ActiveProfiles("test")
 public class RepositoryRepositoryTest {
 
         @Autowired
@@ -115,4 +120,49 @@ public class RepositoryRepositoryTest {
                 assertEquals("Java", result.get(0).getLanguage());
                 assertTrue(result.get(0).getStars() >= 50);
         }
+
+        /**
+         * Test keyset pagination over (stars, id)
+         * Verifies that pages continue after the cursor without gaps or
+         * duplicates, including rows that tie on the sort column
+         */
+        @Test
+        public void testKeysetPagination() {
+                // Given
+                repositoryRepository.save(new Repository(
+                                1L, "repo1", "Description 1", "owner1", "Java", 300, 10, LocalDateTime.now()));
+                repositoryRepository.save(new Repository(
+                                2L, "repo2", "Description 2", "owner2", "Java", 200, 10, LocalDateTime.now()));
+                repositoryRepository.save(new Repository(
+                                3L, "repo3", "Description 3", "owner3", "Java", 200, 10, LocalDateTime.now()));
+                repositoryRepository.save(new Repository(
+                                4L, "repo4", "Description 4", "owner4", "Python", 100, 10, LocalDateTime.now()));
+
+                Specification<Repository> filters = RepositorySpecifications.withFilters("Java", null);
+                Sort order = RepositorySpecifications.sortFor("stars");
+
+                // When
+                List<Repository> firstPage = repositoryRepository.findBy(filters,
+                                query -> query.sortBy(order).limit(2).all());
+                String cursor = RepositoryCursor.encode("stars", firstPage.get(1));
+                List<Repository> secondPage = repositoryRepository.findBy(
+                                filters.and(RepositoryCursor.decode("stars", cursor).toSpecification()),
+                                query -> query.sortBy(order).limit(2).all());
+
+                // Then
+                assertEquals(List.of(1L, 3L), firstPage.stream().map(Repository::getId).toList());
+                assertEquals(List.of(2L), secondPage.stream().map(Repository::getId).toList());
+        }
+
+        /**
+         * Test that a cursor issued for another sort is rejected
+         */
+        @Test
+        public void testCursorForDifferentSortIsRejected() {
+                Repository repository = new Repository(
+                                1L, "repo1", "Description 1", "owner1", "Java", 300, 10, LocalDateTime.now());
+                String cursor = RepositoryCursor.encode("stars", repository);
+
+                assertThrows(IllegalArgumentException.class, () -> RepositoryCursor.decode("forks", cursor));
+        }
 }
\ No newline at end of file
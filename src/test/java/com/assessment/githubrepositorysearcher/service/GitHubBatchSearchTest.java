@@ -0,0 +1,143 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.BatchSearchResponse;
+import com.assessment.githubrepositorysearcher.dto.BatchSearchResult;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for batch GitHub searches
+ * The stub answers each query with a fixed set of ids, overlapping between
+ * queries, and answers slowly so concurrent searches overlap
+ */
+@SpringBootTest(properties = {
+        "github.api.batch-parallelism=2",
+        "github.api.batch-max-pages=10"
+})
+@ActiveProfiles("test")
+public class GitHubBatchSearchTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setDelayMillis(100);
+        stubServer.setResponder(request -> switch (request.queryParam("q")) {
+            case "batch-alpha" -> StubResponse.ok(StubGitHubServer.searchResponseJson(1L, 2L, 3L));
+            case "batch-beta" -> StubResponse.ok(StubGitHubServer.searchResponseJson(3L, 4L));
+            case "batch-gamma" -> StubResponse.ok(StubGitHubServer.searchResponseJson(4L, 5L));
+            default -> StubResponse.status(422);
+        });
+        repositoryRepository.deleteAll();
+    }
+
+    /**
+     * Test that a batch reports every search in order and saves the union once
+     * Verifies per-search failures, cross-search deduplication and the
+     * parallelism limit
+     */
+    @Test
+    public void testSearchBatch_SavesDeduplicatedResults() {
+        // Given
+        List<SearchRequest> searches = List.of(
+                new SearchRequest("batch-alpha", null, "stars"),
+                new SearchRequest("batch-invalid", null, "stars"),
+                new SearchRequest("batch-beta", null, "stars"),
+                new SearchRequest("batch-gamma", null, "stars"));
+
+        // When
+        BatchSearchResponse response = gitHubService.searchAndSaveBatch(searches);
+
+        // Then
+        List<BatchSearchResult> results = response.getResults();
+        assertEquals(List.of("batch-alpha", "batch-invalid", "batch-beta", "batch-gamma"),
+                results.stream().map(BatchSearchResult::getQuery).toList());
+        assertEquals(List.of(1L, 2L, 3L), ids(results.get(0)));
+        assertNull(results.get(1).getRepositories());
+        assertEquals("Invalid search query. Please check your search parameters.", results.get(1).getError());
+        assertEquals(List.of(3L, 4L), ids(results.get(2)));
+        assertEquals(List.of(4L, 5L), ids(results.get(3)));
+
+        assertEquals(5, response.getInserted());
+        assertEquals(0, response.getUpdated());
+        assertEquals(5, repositoryRepository.count());
+        assertEquals(4, stubServer.getRequestCount());
+        assertEquals(2, stubServer.getMaxInFlight());
+    }
+
+    /**
+     * Test that repeating a batch writes nothing for unchanged repositories
+     */
+    @Test
+    public void testSearchBatch_RepeatedBatchIsUnchanged() {
+        // Given
+        List<SearchRequest> searches = List.of(
+                new SearchRequest("batch-alpha", null, "stars"),
+                new SearchRequest("batch-beta", null, "stars"));
+        gitHubService.searchAndSaveBatch(searches);
+
+        // When
+        BatchSearchResponse response = gitHubService.searchAndSaveBatch(searches);
+
+        // Then
+        assertEquals(0, response.getInserted());
+        assertEquals(0, response.getUpdated());
+        assertEquals(4, response.getUnchanged());
+    }
+
+    private List<Long> ids(BatchSearchResult result) {
+        return result.getRepositories().stream().map(RepositoryDto::getId).toList();
+    }
+
+    /**
+     * Test that a batch needing more pages than the limit is rejected
+     * Verifies that no GitHub call is made for it
+     */
+    @Test
+    public void testSearchBatch_RejectsBatchOverPageLimit() {
+        // Given
+        SearchRequest large = new SearchRequest("batch-alpha", null, "stars");
+        large.setMaxResults(1000);
+        List<SearchRequest> searches = List.of(large, new SearchRequest("batch-beta", null, "stars"));
+
+        // When
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> gitHubService.searchAndSaveBatch(searches));
+
+        // Then
+        assertTrue(e.getMessage().contains("11"), e.getMessage());
+        assertEquals(0, stubServer.getRequestCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chaos tests for the circuit breaker and bulkhead around GitHub calls
+ * The stub injects latency above the slow call threshold; searches must keep
+ * answering within a bounded time, from stored repositories once GitHub calls
+ * are rejected
+ */
+@SpringBootTest(properties = {
+        "github.upstream.circuit-breaker.slow-call-threshold=100ms",
+        "github.upstream.circuit-breaker.window-size=4",
+        "github.upstream.circuit-breaker.minimum-calls=4",
+        "github.upstream.circuit-breaker.open-duration=1h",
+        "github.upstream.bulkhead.max-concurrent-calls=2"
+})
+@ActiveProfiles("test")
+public class GitHubCircuitBreakerChaosTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+    private static final long UPSTREAM_DELAY_MILLIS = 500;
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @Autowired
+    private GitHubCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setDelayMillis(UPSTREAM_DELAY_MILLIS);
+        stubServer.setResponder(request -> StubResponse.ok(StubGitHubServer.searchResponseJson(1000L)));
+        circuitBreaker.reset();
+        repositoryRepository.deleteAll();
+        repositoryRepository.save(stored(1L, "chaos-monkey", "Java", LocalDateTime.now().minusDays(2)));
+        repositoryRepository.save(stored(2L, "chaos-mesh", "Go", LocalDateTime.now().minusDays(1)));
+        repositoryRepository.save(stored(3L, "chaos-toolkit", "Python", LocalDateTime.now()));
+        repositoryRepository.save(stored(4L, "calm-library", "Java", LocalDateTime.now()));
+    }
+
+    /**
+     * Test that slow GitHub calls open the breaker and later searches fail fast
+     * Verifies that rejected searches serve stored matches, most recently
+     * refreshed first, flagged as stale, without calling GitHub
+     */
+    @Test
+    public void testSlowUpstream_OpensBreakerAndServesStaleResults() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            gitHubService.searchAndSaveRepositories(new SearchRequest("slow-" + i, null, "stars"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        double rejectedBefore = rejections("circuit_open");
+
+        // When
+        SearchResponse response = gitHubService.searchAndSaveRepositories(new SearchRequest("chaos", null, "stars"));
+
+        // Then
+        assertTrue(response.isStale());
+        assertEquals(List.of(3L, 2L, 1L), ids(response));
+        assertEquals(4, stubServer.getRequestCount());
+        assertEquals(rejectedBefore + 1, rejections("circuit_open"));
+        assertEquals(1.0, meterRegistry.get("github.upstream.circuit.state").tag("state", "open").gauge().value());
+
+        SearchResponse javaOnly = gitHubService.searchAndSaveRepositories(new SearchRequest("CHAOS", "Java", "stars"));
+        assertEquals(List.of(1L), ids(javaOnly));
+    }
+
+    /**
+     * Test that the bulkhead caps concurrent GitHub calls under a burst
+     * Verifies that searches beyond the cap are answered from stored
+     * repositories instead of calling the slow upstream
+     */
+    @Test
+    public void testBurst_BulkheadBoundsConcurrency() throws Exception {
+        // Given
+        int searches = 6;
+        double rejectedBefore = rejections("bulkhead_full");
+        ExecutorService executor = Executors.newFixedThreadPool(searches);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < searches; i++) {
+                String query = "chaos burst-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return gitHubService.searchAndSaveRepositories(new SearchRequest(query, null, "stars"))
+                            .isStale();
+                }));
+            }
+            start.countDown();
+
+            // Then
+            long staleResponses = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    staleResponses++;
+                }
+            }
+            assertTrue(stubServer.getMaxInFlight() <= 2, "In flight " + stubServer.getMaxInFlight());
+            assertEquals(searches - stubServer.getRequestCount(), staleResponses);
+            assertTrue(staleResponses >= searches - 2, "Only " + staleResponses + " searches were rejected");
+            assertEquals(rejectedBefore + staleResponses, rejections("bulkhead_full"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("github.upstream.rejected").tag("reason", reason).counter().count();
+    }
+
+    private List<Long> ids(SearchResponse response) {
+        return response.getRepositories().stream().map(RepositoryDto::getId).toList();
+    }
+
+    private Repository stored(Long id, String name, String language, LocalDateTime updatedAt) {
+        Repository repository = new Repository(id, name, "Stored " + name, "owner" + id, language, 10, 1,
+                LocalDateTime.of(2025, 7, 1, 0, 0));
+        repository.setUpdatedAt(updatedAt);
+        return repository;
+    }
+}
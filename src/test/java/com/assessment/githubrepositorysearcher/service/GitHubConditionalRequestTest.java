@@ -0,0 +1,128 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for conditional GitHub requests
+ * Uses a local stub GitHub server that honours If-None-Match and
+ * If-Modified-Since to verify 304 handling end to end
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class GitHubConditionalRequestTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @MockitoSpyBean
+    private RepositoryPersistenceService persistenceService;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        clearInvocations(persistenceService);
+    }
+
+    /**
+     * Test that an unchanged search is revalidated with If-None-Match
+     * Verifies the 304 reuses the cached items and skips the database upsert
+     */
+    @Test
+    public void testSearch_NotModifiedReusesCachedItems() {
+        // Given
+        stubServer.setResponder(request -> "\"v1\"".equals(request.header("If-None-Match"))
+                ? StubResponse.status(304).withHeader("ETag", "\"v1\"")
+                : StubResponse.ok(StubGitHubServer.searchResponseJson(1L, 2L, 3L)).withHeader("ETag", "\"v1\""));
+        SearchRequest request = new SearchRequest("etag-test", "Java", "stars");
+
+        // When
+        SearchResponse first = gitHubService.searchAndSaveRepositories(request);
+        SearchResponse second = gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        List<StubGitHubServer.RecordedRequest> requests = stubServer.getRequests();
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).header("If-None-Match"));
+        assertEquals("\"v1\"", requests.get(1).header("If-None-Match"));
+        assertEquals(3, first.getRepositories().size());
+        assertEquals(3, second.getRepositories().size());
+        assertEquals(first.getRepositories().get(0).getName(), second.getRepositories().get(0).getName());
+        verify(persistenceService, times(1)).upsertAll(anyList());
+    }
+
+    /**
+     * Test that Last-Modified is revalidated with If-Modified-Since
+     * Verifies a changed response is persisted again
+     */
+    @Test
+    public void testSearch_ModifiedResponseIsPersisted() {
+        // Given
+        String lastModified = "Tue, 08 Jul 2025 16:34:27 GMT";
+        stubServer.setResponder(request -> StubResponse.ok(StubGitHubServer.searchResponseJson(4L, 5L))
+                .withHeader("Last-Modified", lastModified));
+        SearchRequest request = new SearchRequest("last-modified-test", null, "stars");
+
+        // When
+        gitHubService.searchAndSaveRepositories(request);
+        gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        assertEquals(lastModified, stubServer.getRequests().get(1).header("If-Modified-Since"));
+        verify(persistenceService, times(2)).upsertAll(anyList());
+    }
+
+    /**
+     * Test that validators are not stored when saving the response fails
+     * Verifies the next search downloads the page again instead of getting a
+     * 304 for repositories that were never written
+     */
+    @Test
+    public void testSearch_FailedSaveDoesNotStoreValidators() {
+        // Given
+        stubServer.setResponder(request -> "\"v2\"".equals(request.header("If-None-Match"))
+                ? StubResponse.status(304).withHeader("ETag", "\"v2\"")
+                : StubResponse.ok(StubGitHubServer.searchResponseJson(6L, 7L)).withHeader("ETag", "\"v2\""));
+        doThrow(new RuntimeException("Failed to save repositories"))
+                .doCallRealMethod()
+                .when(persistenceService).upsertAll(anyList());
+        SearchRequest request = new SearchRequest("failed-save-test", null, "stars");
+
+        // When
+        assertThrows(RuntimeException.class, () -> gitHubService.searchAndSaveRepositories(request));
+        SearchResponse retried = gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        assertNull(stubServer.getRequests().get(1).header("If-None-Match"));
+        assertEquals(2, retried.getRepositories().size());
+        verify(persistenceService, times(2)).upsertAll(anyList());
+    }
+}
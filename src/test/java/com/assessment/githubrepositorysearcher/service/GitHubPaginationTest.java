@@ -0,0 +1,127 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for multi-page GitHub searches
+ * The stub serves 100 items per page where each page repeats the last id of
+ * the previous one, and answers slowly so concurrent page fetches overlap
+ */
+@SpringBootTest(properties = "github.api.page-parallelism=2")
+@ActiveProfiles("test")
+public class GitHubPaginationTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setDelayMillis(200);
+        stubServer.setResponder(request -> {
+            int page = Integer.parseInt(request.queryParam("page"));
+            long first = page == 1 ? 1 : (page - 1) * 100L;
+            return StubResponse.ok(StubGitHubServer.searchResponseJson(
+                    LongStream.range(first, first + 100).toArray()));
+        });
+        repositoryRepository.deleteAll();
+    }
+
+    /**
+     * Test that five pages are fetched with per_page=100 and bounded concurrency
+     * Verifies result order, cross-page deduplication and the parallelism limit
+     */
+    @Test
+    public void testSearch_FetchesPagesConcurrentlyInOrder() {
+        // Given
+        SearchRequest request = new SearchRequest("pagination-test", "Java", "stars");
+        request.setMaxResults(500);
+
+        // When
+        SearchResponse response = gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        List<Long> ids = response.getRepositories().stream().map(RepositoryDto::getId).toList();
+        assertEquals(LongStream.rangeClosed(1, 499).boxed().toList(), ids);
+        assertEquals(499, repositoryRepository.count());
+
+        assertEquals(5, stubServer.getRequestCount());
+        stubServer.getRequests().forEach(recorded -> assertEquals("100", recorded.queryParam("per_page")));
+        assertEquals(2, stubServer.getMaxInFlight());
+    }
+
+    /**
+     * Test that the last page is cut to maxResults before it is persisted
+     * Verifies that 150 results fetched as two pages of 100 save 150 rows
+     */
+    @Test
+    public void testSearch_PersistsOnlyMaxResults() {
+        // Given
+        SearchRequest request = new SearchRequest("max-results-test", null, "stars");
+        request.setMaxResults(150);
+
+        // When
+        SearchResponse response = gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        assertEquals(150, response.getRepositories().size());
+        assertEquals(150, repositoryRepository.count());
+        assertEquals(150, response.getInserted());
+        assertEquals(2, stubServer.getRequestCount());
+    }
+
+    /**
+     * Test that fetching stops after a short page
+     * Verifies no further pages are requested once GitHub runs out of results
+     */
+    @Test
+    public void testSearch_StopsAfterShortPage() {
+        // Given
+        stubServer.setResponder(request -> "1".equals(request.queryParam("page"))
+                ? StubResponse.ok(StubGitHubServer.searchResponseJson(LongStream.rangeClosed(1, 100).toArray()))
+                : StubResponse.ok(StubGitHubServer.searchResponseJson(101L, 102L)));
+        SearchRequest request = new SearchRequest("short-page-test", null, "stars");
+        request.setMaxResults(1000);
+
+        // When
+        SearchResponse response = gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        assertEquals(102, response.getRepositories().size());
+        assertTrue(stubServer.getRequestCount() <= 3,
+                "Requested " + stubServer.getRequestCount() + " pages");
+    }
+}
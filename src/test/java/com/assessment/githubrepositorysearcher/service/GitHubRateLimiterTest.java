@@ -0,0 +1,304 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GitHubRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-08T16:00:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+    private GitHubRateLimiter rateLimiter;
+
+    /**
+     * Set up a rate limiter on a fixed clock before each test
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new GitHubRateLimiter(5, Duration.ofMinutes(1), meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    /**
+     * Test that calls pass immediately while the budget is unknown or healthy
+     */
+    @Test
+    public void testReserve_NoWaitWithHealthyBudget() {
+        assertEquals(Duration.ZERO, rateLimiter.reserve());
+
+        rateLimiter.update(rateLimitHeaders(25, 60));
+
+        assertEquals(Duration.ZERO, rateLimiter.reserve());
+        assertEquals(24, rateLimiter.getRemaining());
+        assertEquals(24.0, meterRegistry.get("github.ratelimit.remaining").gauge().value());
+    }
+
+    /**
+     * Test that the last calls of a window are spread evenly until the reset
+     * Three remaining calls over 30 seconds are scheduled 10 seconds apart
+     */
+    @Test
+    public void testReserve_PacesLowBudget() {
+        rateLimiter.update(rateLimitHeaders(3, 30));
+
+        assertEquals(Duration.ZERO, rateLimiter.reserve());
+        assertEquals(Duration.ofSeconds(10), rateLimiter.reserve());
+        assertEquals(Duration.ofSeconds(20), rateLimiter.reserve());
+    }
+
+    /**
+     * Test that calls are queued until the reset once the budget is spent
+     */
+    @Test
+    public void testReserve_WaitsForResetWhenBudgetSpent() {
+        rateLimiter.update(rateLimitHeaders(0, 42));
+
+        assertEquals(Duration.ofSeconds(42), rateLimiter.reserve());
+    }
+
+    /**
+     * Test that calls queued for the reset are spread across the new window
+     * With a limit of 30 calls a minute, queued calls leave 2 seconds apart
+     * after the reset, and a call made while the queue drains joins behind it
+     */
+    @Test
+    public void testReserve_SpreadsQueuedCallsAfterReset() {
+        MutableClock clock = new MutableClock(NOW);
+        GitHubRateLimiter limiter = new GitHubRateLimiter(5, Duration.ofMinutes(1), meterRegistry, clock);
+        HttpHeaders headers = rateLimitHeaders(0, 10);
+        headers.set("X-RateLimit-Limit", "30");
+        limiter.update(headers);
+
+        assertEquals(Duration.ofSeconds(10), limiter.reserve());
+        assertEquals(Duration.ofSeconds(12), limiter.reserve());
+        assertEquals(Duration.ofSeconds(14), limiter.reserve());
+
+        clock.advance(Duration.ofSeconds(11));
+        assertEquals(Duration.ofSeconds(5), limiter.reserve());
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(Duration.ZERO, limiter.reserve());
+    }
+
+    /**
+     * Test that Retry-After from a secondary rate limit holds calls back
+     */
+    @Test
+    public void testReserve_HonoursRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        rateLimiter.update(headers);
+
+        assertEquals(Duration.ofSeconds(7), rateLimiter.reserve());
+    }
+
+    /**
+     * Test that a wait beyond the configured maximum fails instead of queueing
+     */
+    @Test
+    public void testAcquire_FailsWhenWaitExceedsMaximum() {
+        rateLimiter.update(rateLimitHeaders(0, 3600));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> rateLimiter.acquire().block());
+        assertTrue(exception.getMessage().contains("rate limit exceeded"));
+    }
+
+    /**
+     * Test that waiting callers are reported as queue depth
+     * A caller leaves the queue when it gives up and before it resumes, so
+     * the depth is back to zero once the wait has returned
+     */
+    @Test
+    public void testAcquire_ReportsQueueDepth() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        rateLimiter.update(headers);
+
+        Disposable abandoned = rateLimiter.acquire().subscribe();
+        assertEquals(1, rateLimiter.getQueueDepth());
+        abandoned.dispose();
+        assertEquals(0, rateLimiter.getQueueDepth());
+
+        rateLimiter.acquire().block();
+        assertEquals(0, rateLimiter.getQueueDepth());
+        assertEquals(0.0, meterRegistry.get("github.ratelimit.queue.depth").gauge().value());
+    }
+
+    /**
+     * Test that background calls only get budget above the reserve
+     */
+    @Test
+    public void testHasBackgroundBudget_KeepsReserveForSearches() {
+        assertTrue(rateLimiter.hasBackgroundBudget(10));
+
+        rateLimiter.update(rateLimitHeaders(11, 60));
+        assertTrue(rateLimiter.hasBackgroundBudget(10));
+
+        rateLimiter.update(rateLimitHeaders(10, 60));
+        assertFalse(rateLimiter.hasBackgroundBudget(10));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        rateLimiter.update(headers);
+        rateLimiter.update(rateLimitHeaders(25, 60));
+        assertFalse(rateLimiter.hasBackgroundBudget(10));
+    }
+
+    /**
+     * Test that budget headers of other rate limit resources are ignored
+     */
+    @Test
+    public void testUpdate_IgnoresOtherResources() {
+        rateLimiter.update(rateLimitHeaders(3, 30));
+
+        HttpHeaders coreHeaders = rateLimitHeaders(4999, 3600);
+        coreHeaders.set("X-RateLimit-Resource", "core");
+        rateLimiter.update(coreHeaders);
+
+        assertEquals(3, rateLimiter.getRemaining());
+    }
+
+    /**
+     * Test that only search calls wait for and spend the search budget
+     * A repository lookup passes while the search budget is spent and its
+     * core budget headers leave the search budget alone
+     */
+    @Test
+    public void testFilter_SkipsBudgetForNonSearchCalls() {
+        rateLimiter.update(rateLimitHeaders(1, 3600));
+        ClientResponse coreResponse = ClientResponse.create(HttpStatus.OK)
+                .headers(headers -> headers.addAll(rateLimitHeaders(4999, 3600)))
+                .build();
+
+        rateLimiter.filter()
+                .filter(request("/search/repositories"), call -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+                .block();
+        assertEquals(0, rateLimiter.getRemaining());
+
+        rateLimiter.filter()
+                .filter(request("/repositories/1"), call -> Mono.just(coreResponse))
+                .block();
+        assertEquals(0, rateLimiter.getRemaining());
+        assertEquals(Duration.ofHours(1), rateLimiter.reserve());
+    }
+
+    /**
+     * Test that responses outside the search API are tracked as the core budget
+     * Verifies that a low core budget holds background lookups back without
+     * touching the search budget
+     */
+    @Test
+    public void testFilter_RecordsCoreBudget() {
+        ClientResponse coreResponse = ClientResponse.create(HttpStatus.OK)
+                .headers(headers -> headers.addAll(rateLimitHeaders(10, 3600)))
+                .build();
+
+        rateLimiter.filter()
+                .filter(request("/repositories/1"), call -> Mono.just(coreResponse))
+                .block();
+
+        assertFalse(rateLimiter.hasCoreBudget(10));
+        assertTrue(rateLimiter.hasCoreBudget(9));
+        assertTrue(rateLimiter.hasBackgroundBudget(10));
+        assertEquals(-1, rateLimiter.getRemaining());
+    }
+
+    /**
+     * Test that core rate limit rejections pause background lookups
+     * Verifies that Retry-After is honoured, that an empty budget waits for
+     * the reset and that rejections without either back off exponentially
+     */
+    @Test
+    public void testUpdateCore_BacksOffAfterRejections() {
+        MutableClock clock = new MutableClock(NOW);
+        GitHubRateLimiter limiter = new GitHubRateLimiter(5, Duration.ofMinutes(1), meterRegistry, clock);
+
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "30");
+        limiter.updateCore(429, retryAfter);
+        assertFalse(limiter.hasCoreBudget(10));
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(limiter.hasCoreBudget(10));
+
+        limiter.updateCore(403, rateLimitHeaders(0, 600));
+        clock.advance(Duration.ofSeconds(570 - 30));
+        assertFalse(limiter.hasCoreBudget(10));
+        clock.advance(Duration.ofSeconds(60));
+        assertTrue(limiter.hasCoreBudget(10));
+
+        limiter.updateCore(200, new HttpHeaders());
+        limiter.updateCore(429, new HttpHeaders());
+        clock.advance(Duration.ofSeconds(59));
+        assertFalse(limiter.hasCoreBudget(10));
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(limiter.hasCoreBudget(10));
+        limiter.updateCore(429, new HttpHeaders());
+        clock.advance(Duration.ofSeconds(119));
+        assertFalse(limiter.hasCoreBudget(10));
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(limiter.hasCoreBudget(10));
+
+        limiter.updateCore(200, new HttpHeaders());
+        limiter.updateCore(403, new HttpHeaders());
+        assertTrue(limiter.hasCoreBudget(10));
+    }
+
+    private HttpHeaders rateLimitHeaders(int remaining, long secondsUntilReset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(NOW.getEpochSecond() + secondsUntilReset));
+        return headers;
+    }
+
+    private ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("https://api.github.com" + path)).build();
+    }
+
+    /**
+     * Clock that only moves when a test advances it
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
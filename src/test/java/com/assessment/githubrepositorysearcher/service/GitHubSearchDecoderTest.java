@@ -0,0 +1,110 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.GitHubSearchResponse;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.support.RecordedSearchPayloads;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GitHubSearchDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final RepositoryMapper repositoryMapper = new RepositoryMapper();
+    private final GitHubSearchDecoder decoder = new GitHubSearchDecoder(objectMapper, repositoryMapper);
+
+    /**
+     * Test that streaming decoding of recorded items matches the databind path
+     * Verifies every mapped field against GitHubSearchResponse, RepositoryMapper.toEntity and toDto
+     */
+    @Test
+    public void testDecode_MatchesDatabindMapping() throws Exception {
+        // Given
+        byte[] body = RecordedSearchPayloads.searchResponse(100);
+
+        // When
+        GitHubSearchDecoder.SearchPage page = decoder.decode(body);
+
+        // Then
+        List<RepositoryDto> expected = objectMapper.readValue(body, GitHubSearchResponse.class).getItems().stream()
+                .map(repositoryMapper::toEntity)
+                .map(repositoryMapper::toDto)
+                .toList();
+        assertEquals(100, page.totalCount());
+        assertEquals(expected.size(), page.items().size());
+        for (int i = 0; i < expected.size(); i++) {
+            RepositoryDto expectedDto = expected.get(i);
+            RepositoryDto actualDto = page.items().get(i);
+            assertEquals(expectedDto.getId(), actualDto.getId());
+            assertEquals(expectedDto.getName(), actualDto.getName());
+            assertEquals(expectedDto.getDescription(), actualDto.getDescription());
+            assertEquals(expectedDto.getOwner(), actualDto.getOwner());
+            assertEquals(expectedDto.getLanguage(), actualDto.getLanguage());
+            assertEquals(expectedDto.getStars(), actualDto.getStars());
+            assertEquals(expectedDto.getForks(), actualDto.getForks());
+            assertEquals(expectedDto.getLastUpdated(), actualDto.getLastUpdated());
+        }
+        assertEquals("spring-projects", page.items().get(0).getOwner());
+        assertEquals(LocalDateTime.of(2025, 7, 8, 14, 56, 3), page.items().get(0).getLastUpdated());
+    }
+
+    /**
+     * Test that missing and null fields get the same defaults as RepositoryMapper
+     * Verifies items without an id are dropped
+     */
+    @Test
+    public void testDecode_AppliesDefaults() {
+        // Given
+        String body = "{\"total_count\":2,\"items\":["
+                + "{\"id\":7,\"name\":\"bare\",\"language\":null,\"stargazers_count\":null,\"owner\":null,"
+                + "\"license\":{\"key\":\"mit\"},\"topics\":[\"a\",[\"b\"]]},"
+                + "{\"name\":\"no-id\"}]}";
+
+        // When
+        GitHubSearchDecoder.SearchPage page = decoder.decode(body.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals(1, page.items().size());
+        RepositoryDto dto = page.items().get(0);
+        assertEquals(7L, dto.getId());
+        assertEquals("bare", dto.getName());
+        assertNull(dto.getLanguage());
+        assertEquals("Unknown", dto.getOwner());
+        assertEquals(0, dto.getStars());
+        assertEquals(0, dto.getForks());
+        assertNotNull(dto.getLastUpdated());
+    }
+
+    /**
+     * Test decoding of the compact stub payload and of a response without items
+     */
+    @Test
+    public void testDecode_StubAndEmptyResponses() {
+        GitHubSearchDecoder.SearchPage page = decoder.decode(
+                StubGitHubServer.searchResponseJson(1L, 2L).getBytes(StandardCharsets.UTF_8));
+        GitHubSearchDecoder.SearchPage empty = decoder.decode("{\"total_count\":0}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of(1L, 2L), page.items().stream().map(RepositoryDto::getId).toList());
+        assertEquals("owner2", page.items().get(1).getOwner());
+        assertTrue(empty.items().isEmpty());
+    }
+
+    /**
+     * Test that malformed bodies are reported as decode failures
+     */
+    @Test
+    public void testDecode_MalformedBody() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> decoder.decode("[1,2,3]".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(exception.getMessage().startsWith("Failed to decode GitHub search response"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for search stage metrics
+ * Runs searches against a local stub GitHub server and inspects the timers
+ * and counters recorded in the meter registry
+ * Metrics export is enabled so the Prometheus registry is used as in
+ * production; the simple registry of other tests never publishes histogram
+ * buckets
+ */
+@SpringBootTest
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class GitHubSearchMetricsTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        repositoryRepository.deleteAll();
+    }
+
+    /**
+     * Test that a successful search records every stage and the written rows
+     */
+    @Test
+    public void testSearch_RecordsEveryStage() {
+        // Given
+        stubServer.setResponder(request -> StubResponse.ok(StubGitHubServer.searchResponseJson(1L, 2L, 3L)));
+        long upstreamBefore = stageCount("upstream", "200", "success");
+        double insertsBefore = persistedCount("insert", "search");
+        long insertFlushesBefore = persistTimerCount("insert", "search");
+
+        // When
+        gitHubService.searchAndSaveRepositories(new SearchRequest("metrics-test", "Java", "stars"));
+
+        // Then
+        assertEquals(upstreamBefore + 1, stageCount("upstream", "200", "success"));
+        for (String stage : new String[]{"url_build", "decode", "map", "persist", "response"}) {
+            assertTrue(stageCount(stage, "none", "success") > 0, "No timer recorded for stage " + stage);
+        }
+        assertTrue(meterRegistry.get(GitHubSearchMetrics.SEARCH).tag("outcome", "success").timer().count() > 0);
+        assertEquals(insertsBefore + 3, persistedCount("insert", "search"));
+        assertEquals(insertFlushesBefore + 1, persistTimerCount("insert", "search"));
+
+        assertTrue(prometheusMeterRegistry.scrape().lines()
+                        .filter(line -> line.startsWith("github_search_stage_seconds_bucket{"))
+                        .anyMatch(line -> line.contains("stage=\"upstream\"")),
+                "Histogram buckets are not published");
+    }
+
+    /**
+     * Test that a rejected search is tagged with the upstream status and error outcome
+     */
+    @Test
+    public void testSearch_TagsUpstreamFailure() {
+        // Given
+        stubServer.setResponder(request -> StubResponse.status(422));
+        long failedBefore = stageCount("upstream", "422", "error");
+
+        // When
+        assertThrows(RuntimeException.class,
+                () -> gitHubService.searchAndSaveRepositories(new SearchRequest("metrics-failure-test", null, "stars")));
+
+        // Then
+        assertEquals(failedBefore + 1, stageCount("upstream", "422", "error"));
+        assertTrue(meterRegistry.get(GitHubSearchMetrics.SEARCH).tag("outcome", "error").timer().count() > 0);
+    }
+
+    /**
+     * Test that writes of the background refresh are not counted as search writes
+     * Verifies that inserts and updates are timed separately and that both
+     * the timers and the counters carry the write source
+     */
+    @Test
+    public void testUpsert_TagsWritesBySource() {
+        // Given
+        persistenceService.upsertAll(List.of(repository(1L, 10)), Source.SEARCH);
+        double searchUpdatesBefore = persistedCount("update", "search");
+        double refreshUpdatesBefore = persistedCount("update", "refresh");
+        double refreshInsertsBefore = persistedCount("insert", "refresh");
+        long updateFlushesBefore = persistTimerCount("update", "refresh");
+        long insertFlushesBefore = persistTimerCount("insert", "refresh");
+
+        // When
+        persistenceService.upsertAll(List.of(repository(1L, 20), repository(2L, 30)), Source.REFRESH);
+
+        // Then
+        assertEquals(searchUpdatesBefore, persistedCount("update", "search"));
+        assertEquals(refreshUpdatesBefore + 1, persistedCount("update", "refresh"));
+        assertEquals(refreshInsertsBefore + 1, persistedCount("insert", "refresh"));
+        assertEquals(updateFlushesBefore + 1, persistTimerCount("update", "refresh"));
+        assertEquals(insertFlushesBefore + 1, persistTimerCount("insert", "refresh"));
+    }
+
+    private Repository repository(Long id, int stars) {
+        return new Repository(id, "repo" + id, null, "owner" + id, "Java", stars, 1,
+                LocalDateTime.of(2025, 7, 1, 0, 0));
+    }
+
+    private long persistTimerCount(String operation, String source) {
+        Timer timer = meterRegistry.find("github.repositories.persist")
+                .tag("operation", operation)
+                .tag("source", source)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private long stageCount(String stage, String status, String outcome) {
+        Timer timer = meterRegistry.find(GitHubSearchMetrics.STAGE)
+                .tag("stage", stage)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private double persistedCount(String operation, String source) {
+        return meterRegistry.get("github.repositories.persisted")
+                .tag("operation", operation)
+                .tag("source", source)
+                .counter()
+                .count();
+    }
+}
@@ -1,5 +1,6 @@
 package com.assessment.githubrepositorysearcher.service;
 
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
 import com.assessment.githubrepositorysearcher.dto.RepositoryListResponse;
 import com.assessment.githubrepositorysearcher.entity.Repository;
 import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
@@ -8,12 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,7 +30,16 @@ public class GitHubServiceTest {
     private RepositoryRepository repositoryRepository;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private WebClient gitHubWebClient;
+
+    @Mock
+    private RepositoryQueryCache queryCache;
+
+    @Mock
+    private RepositoryIndex repositoryIndex;
+
+    @Spy
+    private RepositoryMapper repositoryMapper = new RepositoryMapper();
 
     @InjectMocks
     private GitHubService gitHubService;
@@ -47,6 +61,12 @@ public class GitHubServiceTest {
                 100,
                 50,
                 LocalDateTime.now());
+
+        // Query cache always misses and delegates to the loader
+        lenient().when(queryCache.get(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        lenient().when(queryCache.getById(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1, Function.class).apply(invocation.getArgument(0)));
     }
 
     /**
@@ -144,4 +164,130 @@ public class GitHubServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getRepositories().size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test full-text search over stored repositories
+     * Verifies that the trimmed text, filters, sort and page offset are passed
+     * to the full-text query and that the query cache is bypassed
+     */
+    @Test
+    public void testSearchStoredRepositories_WithText() {
+        // Given
+        when(repositoryRepository.searchFullText("test repo", "Java", 50, "forks", 10, 20))
+                .thenReturn(List.of(testRepository));
+
+        // When
+        RepositoryListResponse result = gitHubService.searchStoredRepositories(
+                "  test repo ", "Java", 50, "forks", 2, 10, null);
+
+        // Then
+        assertEquals(1, result.getRepositories().size());
+        assertEquals("test-repo", result.getRepositories().get(0).getName());
+        verifyNoInteractions(queryCache);
+    }
+
+    /**
+     * Test that full-text search rejects blank text and keyset cursors
+     */
+    @Test
+    public void testSearchStoredRepositories_InvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubService.searchStoredRepositories(" ", null, null, "stars", null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubService.searchStoredRepositories("spring", null, null, "stars", null, 10, "c3RhcnN8MTAwfDE"));
+        verifyNoInteractions(repositoryRepository);
+    }
+
+    /**
+     * Test that a warmed up index answers without the cache or the database
+     */
+    @Test
+    public void testGetStoredRepositories_ServedFromIndex() {
+        // Given
+        RepositoryDto indexed = repositoryMapper.toDto(testRepository);
+        when(repositoryIndex.isReady()).thenReturn(true);
+        when(repositoryIndex.query(null, "Java", 50, "stars", 0, Integer.MAX_VALUE))
+                .thenReturn(new RepositoryIndex.Result(List.of(indexed), 1));
+
+        // When
+        RepositoryListResponse result = gitHubService.getStoredRepositories("Java", 50, "stars");
+
+        // Then
+        assertEquals(1, result.getRepositories().size());
+        verifyNoInteractions(queryCache, repositoryRepository);
+    }
+
+    /**
+     * Test that an offset page served from the index carries a next cursor
+     * Verifies that the cursor points after the last row, like the cursor of
+     * a page read from the database
+     */
+    @Test
+    public void testGetStoredRepositories_IndexPageCarriesCursor() {
+        // Given
+        RepositoryDto indexed = repositoryMapper.toDto(testRepository);
+        when(repositoryIndex.isReady()).thenReturn(true);
+        when(repositoryIndex.query(null, null, null, "stars", 10, 10))
+                .thenReturn(new RepositoryIndex.Result(List.of(indexed), 25));
+
+        // When
+        RepositoryListResponse result = gitHubService.getStoredRepositories(null, null, "stars", 1, 10, null);
+
+        // Then
+        assertEquals(RepositoryCursor.encode("stars", testRepository), result.getNextCursor());
+        assertEquals(25L, result.getTotalElements());
+        verifyNoInteractions(repositoryRepository);
+    }
+
+    /**
+     * Test that pages whose offset overflows an int are rejected
+     * Verifies that neither the index nor the database sees a negative offset
+     */
+    @Test
+    public void testStoredRepositories_RejectOverflowingPage() {
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubService.getStoredRepositories(null, null, "stars", Integer.MAX_VALUE / 10, 20, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubService.searchStoredRepositories("spring", null, null, "stars",
+                        Integer.MAX_VALUE / 10, 20, null));
+        verifyNoInteractions(repositoryIndex, repositoryRepository);
+    }
+
+    /**
+     * Test that cached query results are returned without a database query
+     * Verifies that a cache hit bypasses findRepositoriesWithFilters
+     */
+    @Test
+    public void testGetStoredRepositories_ServedFromCache() {
+        // Given
+        RepositoryListResponse cached = new RepositoryListResponse(List.of());
+        doReturn(cached).when(queryCache).get(eq(new RepositoryQueryCache.QueryKey("Java", null, "stars")), any());
+
+        // When
+        RepositoryListResponse result = gitHubService.getStoredRepositories("Java", null, "stars");
+
+        // Then
+        assertSame(cached, result);
+        verifyNoInteractions(repositoryRepository);
+    }
+
+    /**
+     * Test repository lookup by id through the repository cache
+     * Verifies that a stored repository is mapped and a missing one yields null
+     */
+    @Test
+    public void testGetStoredRepository_ById() {
+        // Given
+        when(repositoryRepository.findById(123456L)).thenReturn(Optional.of(testRepository));
+        when(repositoryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When
+        RepositoryDto result = gitHubService.getStoredRepository(123456L);
+
+        // Then
+        assertEquals("test-repo", result.getName());
+        assertEquals("testowner", result.getOwner());
+        assertNull(gitHubService.getStoredRepository(1L));
+        verify(queryCache, times(2)).getById(any(), any());
+    }
+}
@@ -0,0 +1,99 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for stale results served from the repository index
+ * With the index enabled, the keywords of a search GitHub cannot answer are
+ * matched in memory instead of by a substring scan of the table
+ */
+@SpringBootTest(properties = {
+        "github.index.enabled=true",
+        "github.rate-limit.max-retries=0"
+})
+@ActiveProfiles("test")
+public class GitHubStaleFallbackIndexTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @Autowired
+    private GitHubCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private RepositoryIndex repositoryIndex;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setResponder(request -> StubResponse.status(503));
+        circuitBreaker.reset();
+        repositoryRepository.deleteAll();
+    }
+
+    /**
+     * Test that an unavailable GitHub is answered from the index
+     * Verifies that matches are ordered by relevance, then by last update on
+     * GitHub, not by when they were stored, and that rows the index has not
+     * seen are not served
+     */
+    @Test
+    public void testUnavailableUpstream_ServesStaleResultsFromIndex() {
+        // Given
+        Repository pushedLately = stored(1L, "chaos-monkey", LocalDateTime.of(2025, 7, 2, 0, 0),
+                LocalDateTime.now().minusDays(2));
+        Repository pushedEarlier = stored(2L, "chaos-mesh", LocalDateTime.of(2025, 7, 1, 0, 0),
+                LocalDateTime.now());
+        repositoryIndex.index(repositoryRepository.saveAll(List.of(pushedLately, pushedEarlier)));
+        repositoryRepository.save(stored(3L, "chaos-toolkit", LocalDateTime.of(2025, 7, 3, 0, 0),
+                LocalDateTime.now()));
+
+        // When
+        SearchResponse response = gitHubService.searchAndSaveRepositories(
+                new SearchRequest("chaos stars:>5", null, "stars"));
+
+        // Then
+        assertTrue(response.isStale());
+        assertEquals(List.of(1L, 2L), response.getRepositories().stream().map(RepositoryDto::getId).toList());
+    }
+
+    private Repository stored(Long id, String name, LocalDateTime lastUpdated, LocalDateTime updatedAt) {
+        Repository repository = new Repository(id, name, "Stored " + name, "owner", "Java", 10, 1, lastUpdated);
+        repository.setUpdatedAt(updatedAt);
+        return repository;
+    }
+}
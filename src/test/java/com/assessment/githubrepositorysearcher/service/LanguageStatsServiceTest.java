@@ -0,0 +1,217 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.LanguageStatsDto;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.LanguageStatsRepository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the per-language aggregates
+ * Writes go through the upsert, so the summary table is maintained by the
+ * before-commit listener exactly as in production
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class LanguageStatsServiceTest {
+
+    @Autowired
+    private LanguageStatsService languageStatsService;
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @MockitoSpyBean
+    private LanguageStatsRepository languageStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repositoryRepository.deleteAll();
+        languageStatsRepository.deleteAll();
+    }
+
+    /**
+     * Test that inserts and updates adjust the aggregates by their deltas
+     * Verifies that a repository moving to another language leaves the first
+     * and joins the second, and that repositories without a language are skipped
+     */
+    @Test
+    public void testUpsert_MaintainsAggregates() {
+        // Given
+        persistenceService.upsertAll(List.of(
+                repository(1L, "Java", 10, 1),
+                repository(2L, "Java", 20, 2),
+                repository(3L, "Java", 30, 6),
+                repository(4L, "Python", 5, 5),
+                repository(5L, null, 50, 5)));
+
+        // When
+        persistenceService.upsertAll(List.of(
+                repository(2L, "Java", 25, 2),
+                repository(3L, "Python", 40, 8)));
+
+        // Then
+        List<LanguageStatsDto> languages = languageStatsService.getLanguageStats(null, 5).getLanguages();
+        assertEquals(List.of("Java", "Python"), languages.stream().map(LanguageStatsDto::getLanguage).toList());
+
+        LanguageStatsDto java = languages.get(0);
+        assertEquals(2, java.getRepositoryCount());
+        assertEquals(35, java.getTotalStars());
+        assertEquals(1.5, java.getAverageForks());
+        assertEquals(List.of(2L, 1L), ids(java));
+
+        LanguageStatsDto python = languages.get(1);
+        assertEquals(2, python.getRepositoryCount());
+        assertEquals(45, python.getTotalStars());
+        assertEquals(6.5, python.getAverageForks());
+        assertEquals(List.of(3L, 4L), ids(python));
+    }
+
+    /**
+     * Test single language reads, top limits and parameter validation
+     */
+    @Test
+    public void testGetLanguageStats_SingleLanguage() {
+        // Given
+        persistenceService.upsertAll(List.of(
+                repository(1L, "Java", 10, 1),
+                repository(2L, "Java", 30, 3),
+                repository(3L, "Go", 20, 2)));
+
+        // When
+        List<LanguageStatsDto> languages = languageStatsService.getLanguageStats("Java", 1).getLanguages();
+
+        // Then
+        assertEquals(1, languages.size());
+        assertEquals(2, languages.get(0).getRepositoryCount());
+        assertEquals(List.of(2L), ids(languages.get(0)));
+        assertTrue(languageStatsService.getLanguageStats("Java", 0).getLanguages().get(0)
+                .getTopRepositories().isEmpty());
+        assertTrue(languageStatsService.getLanguageStats("Rust", null).getLanguages().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> languageStatsService.getLanguageStats(null, 101));
+    }
+
+    /**
+     * Test that a failure to adjust the aggregates rolls the upsert back
+     * Verifies that rows are never committed without their deltas
+     */
+    @Test
+    public void testUpsert_RolledBackWhenAggregatesFail() {
+        // Given
+        persistenceService.upsertAll(List.of(repository(1L, "Java", 10, 1)));
+        doThrow(new IllegalStateException("language_stats unavailable"))
+                .when(languageStatsRepository).addToLanguage(eq("Java"), anyLong(), anyLong(), anyLong(), any());
+
+        // When
+        assertThrows(RuntimeException.class,
+                () -> persistenceService.upsertAll(List.of(repository(1L, "Java", 15, 1))));
+
+        // Then
+        reset(languageStatsRepository);
+        assertEquals(10, repositoryRepository.findById(1L).orElseThrow().getStars());
+        assertEquals(10, languageStatsService.getLanguageStats("Java", 0).getLanguages().get(0).getTotalStars());
+    }
+
+    /**
+     * Test that reconciling corrects aggregates that drifted from the table
+     * Verifies that a wrong row is fixed, a missing row is recreated, a row
+     * for a language without repositories is emptied, and that a second pass
+     * finds nothing to correct
+     */
+    @Test
+    public void testReconcile_CorrectsDriftedAggregates() {
+        // Given
+        persistenceService.upsertAll(List.of(
+                repository(1L, "Java", 10, 1),
+                repository(2L, "Java", 20, 2),
+                repository(3L, "Go", 30, 3),
+                repository(4L, "Rust", 40, 4)));
+        jdbcTemplate.update("UPDATE language_stats SET repository_count = 3, total_stars = 50 WHERE language = 'Java'");
+        jdbcTemplate.update("DELETE FROM language_stats WHERE language = 'Go'");
+        jdbcTemplate.update("DELETE FROM repositories WHERE id = 4");
+
+        // When
+        int corrected = languageStatsService.reconcile();
+
+        // Then
+        assertEquals(3, corrected);
+        List<LanguageStatsDto> languages = languageStatsService.getLanguageStats(null, 0).getLanguages();
+        assertEquals(List.of("Java", "Go"), languages.stream().map(LanguageStatsDto::getLanguage).toList());
+        assertEquals(2, languages.get(0).getRepositoryCount());
+        assertEquals(30, languages.get(0).getTotalStars());
+        assertEquals(1, languages.get(1).getRepositoryCount());
+        assertEquals(30, languages.get(1).getTotalStars());
+        assertEquals(0, languageStatsService.reconcile());
+    }
+
+    /**
+     * Test that concurrent upserts of the same rows keep exact aggregates
+     * Verifies that each writer locks the rows it reads, so every delta is
+     * taken from the committed row and reconciling finds nothing to correct
+     */
+    @Test
+    public void testConcurrentUpserts_KeepExactAggregates() throws Exception {
+        // Given
+        persistenceService.upsertAll(List.of(repository(1L, "Java", 10, 1), repository(2L, "Go", 20, 2)));
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < writers; i++) {
+                String language = i % 2 == 0 ? "Go" : "Rust";
+                int stars = 100 + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return persistenceService.upsertAll(List.of(
+                            repository(1L, language, stars, 1), repository(2L, language, stars, 2)));
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(0, languageStatsService.reconcile());
+    }
+
+    private List<Long> ids(LanguageStatsDto languageStats) {
+        return languageStats.getTopRepositories().stream().map(RepositoryDto::getId).toList();
+    }
+
+    private Repository repository(Long id, String language, int stars, int forks) {
+        return new Repository(id, "repo" + id, null, "owner" + id, language, stars, forks,
+                LocalDateTime.of(2025, 7, 1, 0, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureJson
+@Import({RepositoryExportService.class, RepositoryMapper.class})
+@ActiveProfiles("test")
+public class RepositoryExportServiceTest {
+
+    @Autowired
+    private RepositoryExportService exportService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Seed three repositories before each test
+     */
+    @BeforeEach
+    void setUp() {
+        repositoryRepository.save(new Repository(
+                1L, "repo1", "Plain description", "owner1", "Java", 100, 10, LocalDateTime.now()));
+        repositoryRepository.save(new Repository(
+                2L, "repo2", "Description with \"quotes\", commas", "owner2", "Python", 200, 20, LocalDateTime.now()));
+        repositoryRepository.save(new Repository(
+                3L, "repo3", null, "owner3", null, 300, 30, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Test NDJSON export writes one JSON object per line in id order
+     * Verifies exported entities are detached from the persistence context
+     */
+    @Test
+    public void testExport_Ndjson() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = exportService.export(outputStream, "ndjson");
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[2].contains("\"name\":\"repo3\""));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    /**
+     * Test CSV export writes a header and quotes values containing separators
+     */
+    @Test
+    public void testExport_Csv() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.export(outputStream, "csv");
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("id,name,description,owner,language,stars,forks,lastUpdated", lines[0]);
+        assertTrue(lines[2].startsWith("2,repo2,\"Description with \"\"quotes\"\", commas\",owner2,Python,200,20,"));
+        assertTrue(lines[3].startsWith("3,repo3,,owner3,,300,30,"));
+    }
+
+    /**
+     * Test that unsupported formats are rejected
+     */
+    @Test
+    public void testExport_InvalidFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export(new ByteArrayOutputStream(), "xml"));
+    }
+}
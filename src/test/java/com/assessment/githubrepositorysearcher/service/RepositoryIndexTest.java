@@ -0,0 +1,182 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.cache.InMemorySharedCache;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RepositoryIndexTest {
+
+    @Mock
+    private RepositoryRepository repositoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RepositoryIndex index;
+
+    /**
+     * Set up an enabled index over a small table scan before each test
+     */
+    @BeforeEach
+    void setUp() {
+        index = new RepositoryIndex(repositoryRepository, new RepositoryMapper(), transactionManager,
+                entityManager, meterRegistry, true);
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        lenient().when(repositoryRepository.streamAll()).thenReturn(Stream.of(
+                repository(1L, "spring-boot", "Spring Boot helps you build applications", "spring-projects",
+                        "Java", 100, 50),
+                repository(2L, "guava", "Google core libraries for Java", "google", "Java", 100, 80),
+                repository(3L, "flask", "The Python micro framework", "pallets", "Python", 60, 10),
+                repository(4L, "spring-petclinic", "A sample application", "spring-projects", "Java", 30, 90)));
+    }
+
+    /**
+     * Test that warm-up loads the table scan and serves filtered, sorted pages
+     * Verifies the database tie breaker (id descending) and total match counts
+     */
+    @Test
+    public void testWarmUp_ServesFilteredQueries() {
+        // Given
+        assertFalse(index.isReady());
+
+        // When
+        index.warmUp();
+
+        // Then
+        assertTrue(index.isReady());
+        assertEquals(4.0, meterRegistry.get("github.index.repositories").gauge().value());
+        assertEquals(List.of(2L, 1L, 4L), ids(index.query(null, "Java", null, "stars", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of(2L, 1L, 3L), ids(index.query(null, null, 50, "forks", 0, Integer.MAX_VALUE)));
+
+        RepositoryIndex.Result page = index.query(null, null, null, "stars", 1, 2);
+        assertEquals(List.of(1L, 3L), ids(page));
+        assertEquals(4, page.totalMatches());
+        assertTrue(index.query(null, "Rust", null, "stars", 0, 20).repositories().isEmpty());
+    }
+
+    /**
+     * Test that keyword queries require every keyword and rank name hits first
+     */
+    @Test
+    public void testQuery_RanksKeywordMatches() {
+        // Given
+        index.warmUp();
+
+        // When & Then
+        assertEquals(List.of(1L, 4L), ids(index.query("Spring", null, null, "stars", 0, 20)));
+        assertEquals(List.of(1L), ids(index.query("spring boot", null, null, "stars", 0, 20)));
+        assertEquals(List.of(2L), ids(index.query("java", null, null, "stars", 0, 20)));
+        assertEquals(List.of(4L, 1L), ids(index.query("projects", null, null, "forks", 0, 20)));
+        assertTrue(index.query("spring", "Python", null, "stars", 0, 20).repositories().isEmpty());
+        assertTrue(index.query("  ", null, null, "stars", 0, 20).repositories().isEmpty());
+    }
+
+    /**
+     * Test that written repositories move in every postings list and sort order
+     */
+    @Test
+    public void testIndex_AppliesWrites() {
+        // Given
+        index.warmUp();
+
+        // When
+        index.index(List.of(
+                repository(3L, "flask", "The Python micro framework", "pallets", "Java", 500, 10),
+                repository(5L, "django", "Web framework for perfectionists", "django", "Python", 70, 95)));
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L, 5L, 4L), ids(index.query(null, null, null, "stars", 0, 20)));
+        assertEquals(List.of(5L, 4L, 2L, 1L, 3L), ids(index.query(null, null, null, "forks", 0, 20)));
+        assertEquals(List.of(5L), ids(index.query(null, "Python", null, "stars", 0, 20)));
+        assertEquals(List.of(3L, 5L), ids(index.query("framework", null, null, "stars", 0, 20)));
+        assertEquals(500, index.query("flask", "Java", null, "stars", 0, 20).repositories().get(0).getStars());
+    }
+
+    /**
+     * Test that a disabled index never loads the table
+     */
+    @Test
+    public void testWarmUp_SkippedWhenDisabled() {
+        // Given
+        RepositoryIndex disabled = new RepositoryIndex(repositoryRepository, new RepositoryMapper(),
+                transactionManager, entityManager, new SimpleMeterRegistry(), false);
+
+        // When
+        disabled.warmUp();
+
+        // Then
+        assertFalse(disabled.isReady());
+        assertThrows(IllegalStateException.class, () -> disabled.query(null, null, null, "stars", 0, 20));
+        verify(repositoryRepository, never()).streamAll();
+    }
+
+    /**
+     * Test that writes broadcast by another instance are reloaded into the index
+     * Verifies that the index's own broadcasts are ignored, their rows were
+     * already indexed from the local event
+     */
+    @Test
+    public void testSharedInvalidation_ReloadsRowsWrittenElsewhere() throws Exception {
+        // Given
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        InMemorySharedCache sharedCache = new InMemorySharedCache();
+        RepositoryQueryCache queryCache = new RepositoryQueryCache(100, Duration.ofMinutes(1), 100,
+                Optional.of(sharedCache), Duration.ofMinutes(5), objectMapper, meterRegistry);
+        RepositoryIndex shared = new RepositoryIndex(repositoryRepository, new RepositoryMapper(),
+                transactionManager, entityManager, Optional.of(sharedCache), queryCache, objectMapper,
+                meterRegistry, true);
+        shared.warmUp();
+        when(repositoryRepository.findAllById(List.of(3L))).thenReturn(List.of(
+                repository(3L, "flask", "The Python micro framework", "pallets", "Python", 600, 10)));
+        List<RepositoryChange> changes = List.of(new RepositoryChange(3L, "Python", 60, "Python", 600));
+
+        // When
+        sharedCache.publish(objectMapper.writeValueAsBytes(
+                new RepositoryQueryCache.Invalidation(queryCache.getNodeId(), changes)));
+        sharedCache.publish(objectMapper.writeValueAsBytes(
+                new RepositoryQueryCache.Invalidation("other-instance", changes)));
+
+        // Then
+        verify(repositoryRepository, times(1)).findAllById(List.of(3L));
+        assertEquals(List.of(3L, 2L, 1L, 4L), ids(shared.query(null, null, null, "stars", 0, 20)));
+        assertEquals(600, shared.query(null, "Python", null, "stars", 0, 20).repositories().get(0).getStars());
+    }
+
+    private List<Long> ids(RepositoryIndex.Result result) {
+        return result.repositories().stream().map(RepositoryDto::getId).toList();
+    }
+
+    private Repository repository(Long id, String name, String description, String owner,
+            String language, int stars, int forks) {
+        return new Repository(id, name, description, owner, language, stars, forks,
+                LocalDateTime.of(2025, 7, 1, 0, 0).plusDays(id));
+    }
+}
@@ -0,0 +1,163 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RepositoryPersistenceService.class, SimpleMeterRegistry.class})
+@ActiveProfiles("test")
+public class RepositoryPersistenceServiceTest {
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    /**
+     * Set up Hibernate statistics before each test
+     * Statement counts are read from the session factory statistics
+     */
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    /**
+     * Test that a 30 item upsert uses a constant number of statements
+     * Verifies one SELECT for existing ids plus one batched INSERT and one
+     * batched UPDATE, instead of up to three round trips per repository
+     */
+    @Test
+    public void testUpsertAll_CountsStatements() {
+        // Given
+        for (long id = 1; id <= 10; id++) {
+            repositoryRepository.save(newRepository(id, 10));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Repository> incoming = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            incoming.add(newRepository(id, 20));
+        }
+        statistics.clear();
+
+        // When
+        persistenceService.upsertAll(incoming);
+        entityManager.flush();
+
+        // Then
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertEquals(10, statistics.getEntityUpdateCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test that duplicate ids in one batch are collapsed
+     * Verifies that the last occurrence wins and only one row is written
+     */
+    @Test
+    public void testUpsertAll_DeduplicatesIds() {
+        // Given
+        List<Repository> incoming = List.of(newRepository(1L, 10), newRepository(1L, 50));
+
+        // When
+        RepositoryPersistenceService.UpsertResult saved = persistenceService.upsertAll(incoming);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, saved.repositories().size());
+        assertEquals(50, repositoryRepository.findById(1L).orElseThrow().getStars());
+    }
+
+    /**
+     * Test that refreshing unchanged repositories writes nothing
+     * Verifies zero UPDATE statements, an untouched updatedAt and that only
+     * the repository that really changed is reported as updated
+     */
+    @Test
+    public void testUpsertAll_SkipsUnchangedRepositories() {
+        // Given
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long id = 1; id <= 10; id++) {
+            repositoryRepository.save(newRepository(id, 10, lastUpdated));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime updatedAtBefore = repositoryRepository.findById(1L).orElseThrow().getUpdatedAt();
+        entityManager.clear();
+
+        List<Repository> unchanged = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            unchanged.add(newRepository(id, 10, lastUpdated));
+        }
+        statistics.clear();
+
+        // When
+        RepositoryPersistenceService.UpsertResult noOp = persistenceService.upsertAll(unchanged);
+        entityManager.flush();
+
+        // Then
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, noOp.inserted());
+        assertEquals(0, noOp.updated());
+        assertEquals(10, noOp.unchanged());
+        assertEquals(10, noOp.repositories().size());
+        entityManager.clear();
+        assertEquals(updatedAtBefore, repositoryRepository.findById(1L).orElseThrow().getUpdatedAt());
+
+        // When
+        List<Repository> oneChanged = new ArrayList<>(unchanged);
+        oneChanged.set(0, newRepository(1L, 11, lastUpdated));
+        oneChanged.add(newRepository(11L, 5, lastUpdated));
+        statistics.clear();
+        RepositoryPersistenceService.UpsertResult refresh = persistenceService.upsertAll(oneChanged);
+        entityManager.flush();
+
+        // Then
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, refresh.inserted());
+        assertEquals(1, refresh.updated());
+        assertEquals(9, refresh.unchanged());
+    }
+
+    private Repository newRepository(long id, int stars) {
+        return new Repository(
+                id, "repo-" + id, "Description " + id,
+                "owner" + id, "Java", stars, 5, LocalDateTime.now());
+    }
+
+    private Repository newRepository(long id, int stars, LocalDateTime lastUpdated) {
+        return new Repository(
+                id, "repo-" + id, "Description " + id,
+                "owner" + id, "Java", stars, 5, lastUpdated);
+    }
+}
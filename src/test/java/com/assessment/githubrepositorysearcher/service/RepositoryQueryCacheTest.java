@@ -0,0 +1,209 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.cache.InMemorySharedCache;
+import com.assessment.githubrepositorysearcher.dto.RepositoryDto;
+import com.assessment.githubrepositorysearcher.dto.RepositoryListResponse;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.RepositoryChange;
+import com.assessment.githubrepositorysearcher.service.RepositoryQueryCache.QueryKey;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepositoryQueryCacheTest {
+
+    private RepositoryQueryCache queryCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    /**
+     * Set up a cache with a simple meter registry before each test
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCache = new RepositoryQueryCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Test that repeated lookups for the same filter tuple load only once
+     * Verifies hits and misses are published as metrics
+     */
+    @Test
+    public void testGet_CachesPerFilterTuple() {
+        QueryKey key = new QueryKey("Java", 100, "stars");
+
+        queryCache.get(key, this::load);
+        queryCache.get(key, this::load);
+        queryCache.get(new QueryKey("Java", 100, "forks"), this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "repositoryQueries")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "repositoryQueries")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    /**
+     * Test that writes only evict results they could have changed
+     * A Python repository moving from 50 to 150 stars affects unfiltered and
+     * Python queries but not Java queries
+     */
+    @Test
+    public void testOnRepositoriesChanged_EvictsOnlyAffectedKeys() {
+        QueryKey all = new QueryKey(null, null, "stars");
+        QueryKey java = new QueryKey("Java", null, "stars");
+        QueryKey python = new QueryKey("Python", 100, "stars");
+        QueryKey popularPython = new QueryKey("Python", 1000, "stars");
+        List.of(all, java, python, popularPython).forEach(key -> queryCache.get(key, this::load));
+
+        queryCache.onRepositoriesChanged(new RepositoriesChangedEvent(List.of(
+                new RepositoryChange(1L, "Python", 50, "Python", 150))));
+        loads.set(0);
+        List.of(all, java, python, popularPython).forEach(key -> queryCache.get(key, this::load));
+
+        // Reloaded: all and python; still cached: java and popularPython
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test that a result loaded while a write committed is not kept
+     * The write's eviction runs before the load finishes, so the loaded result
+     * may predate the write and must be loaded again by the next lookup
+     */
+    @Test
+    public void testGet_DiscardsResultLoadedDuringEviction() {
+        QueryKey key = new QueryKey("Java", null, "stars");
+
+        queryCache.get(key, () -> {
+            RepositoryListResponse response = load();
+            queryCache.onRepositoriesChanged(new RepositoriesChangedEvent(List.of(
+                    new RepositoryChange(1L, null, null, "Java", 10))));
+            return response;
+        });
+        queryCache.get(key, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test that a repository dropping out of a filter still evicts it
+     * Verifies the previous language and star count are considered
+     */
+    @Test
+    public void testOnRepositoriesChanged_EvictsWhenRowLeavesResult() {
+        QueryKey key = new QueryKey("Java", 100, "stars");
+        queryCache.get(key, this::load);
+
+        queryCache.onRepositoriesChanged(new RepositoriesChangedEvent(List.of(
+                new RepositoryChange(1L, "Java", 200, "Java", 50))));
+        queryCache.get(key, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test that a result loaded by one instance is served to another
+     * Two caches sharing one shared tier act as two service instances
+     */
+    @Test
+    public void testSharedTier_ServesResultsAcrossInstances() {
+        InMemorySharedCache sharedCache = new InMemorySharedCache();
+        RepositoryQueryCache first = instance(sharedCache);
+        RepositoryQueryCache second = instance(sharedCache);
+        QueryKey key = new QueryKey("Java", 100, "stars");
+
+        first.get(key, this::load);
+        second.get(key, this::load);
+        first.getById(1L, this::loadRepository);
+        RepositoryDto repository = second.getById(1L, this::loadRepository);
+
+        assertEquals(2, loads.get());
+        assertEquals("repo1", repository.getName());
+        assertEquals(LocalDateTime.of(2025, 7, 1, 0, 0), repository.getLastUpdated());
+    }
+
+    /**
+     * Test that a write on one instance invalidates the other instance
+     * Verifies the affected query and id are reloaded once, by whichever
+     * instance asks first, while unaffected entries stay cached everywhere
+     */
+    @Test
+    public void testSharedTier_BroadcastsInvalidation() {
+        InMemorySharedCache sharedCache = new InMemorySharedCache();
+        RepositoryQueryCache first = instance(sharedCache);
+        RepositoryQueryCache second = instance(sharedCache);
+        QueryKey java = new QueryKey("Java", null, "stars");
+        QueryKey python = new QueryKey("Python", null, "stars");
+        for (RepositoryQueryCache node : List.of(first, second)) {
+            node.get(java, this::load);
+            node.get(python, this::load);
+            node.getById(1L, this::loadRepository);
+            node.getById(2L, this::loadRepository);
+        }
+        assertEquals(4, loads.get());
+
+        first.onRepositoriesChanged(new RepositoriesChangedEvent(List.of(
+                new RepositoryChange(1L, "Java", 10, "Java", 20))));
+        loads.set(0);
+        for (RepositoryQueryCache node : List.of(second, first)) {
+            node.get(java, this::load);
+            node.get(python, this::load);
+            node.getById(1L, this::loadRepository);
+            node.getById(2L, this::loadRepository);
+        }
+
+        // Reloaded once by the second instance: java and id 1
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test that a repository loaded while another instance wrote it is not kept
+     * The load reads the old row, then the write evicts; the loaded value must
+     * not be left in the shared tier for other instances to serve
+     */
+    @Test
+    public void testSharedTier_DiscardsRepositoryLoadedDuringWrite() {
+        InMemorySharedCache sharedCache = new InMemorySharedCache();
+        RepositoryQueryCache first = instance(sharedCache);
+        RepositoryQueryCache second = instance(sharedCache);
+
+        first.getById(1L, id -> {
+            RepositoryDto repository = loadRepository(id);
+            second.onRepositoriesChanged(new RepositoriesChangedEvent(List.of(
+                    new RepositoryChange(1L, "Java", 10, "Java", 20))));
+            return repository;
+        });
+        second.getById(1L, this::loadRepository);
+        first.getById(1L, this::loadRepository);
+
+        // Loaded again by the second instance, then served to the first from the shared tier
+        assertEquals(2, loads.get());
+    }
+
+    private RepositoryQueryCache instance(InMemorySharedCache sharedCache) {
+        return new RepositoryQueryCache(100, Duration.ofMinutes(1), 100, Optional.of(sharedCache),
+                Duration.ofMinutes(5), JsonMapper.builder().findAndAddModules().build(), new SimpleMeterRegistry());
+    }
+
+    private RepositoryDto loadRepository(Long id) {
+        loads.incrementAndGet();
+        return new RepositoryDto(id, "repo" + id, null, "owner" + id, "Java", 10, 1,
+                LocalDateTime.of(2025, 7, 1, 0, 0));
+    }
+
+    private RepositoryListResponse load() {
+        loads.incrementAndGet();
+        return new RepositoryListResponse(List.of());
+    }
+}
@@ -0,0 +1,217 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.RecordedRequest;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the background refresh of stored repositories
+ * Stale rows are refreshed against a local stub GitHub server that serves
+ * GET /repositories/{id}
+ */
+@SpringBootTest(properties = {
+        "github.refresh.batch-size=3",
+        "github.refresh.stale-after=1h",
+        "github.refresh.rate-limit-reserve=10"
+})
+@ActiveProfiles("test")
+public class RepositoryRefreshSchedulerTest {
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+    private static final LocalDateTime GITHUB_UPDATED_AT = LocalDateTime.of(2025, 7, 8, 16, 34, 27);
+
+    @Autowired
+    private RepositoryRefreshScheduler refreshScheduler;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private GitHubRateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Stars served by the stub per repository id, missing ids answer 404
+    private final Map<Long, Integer> upstreamStars = new ConcurrentHashMap<>();
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setResponder(this::respond);
+        repositoryRepository.deleteAll();
+        rateLimiter.update(rateLimitHeaders(5000));
+    }
+
+    /**
+     * Test that stale repositories are re-fetched and written only when changed
+     * Verifies that fresh rows are not requested and that unchanged and deleted
+     * repositories are marked as checked
+     */
+    @Test
+    public void testRefresh_UpdatesStaleRepositories() {
+        // Given
+        LocalDateTime stale = LocalDateTime.now().minusDays(2);
+        repositoryRepository.save(stored(1L, 10, stale));
+        repositoryRepository.save(stored(2L, 20, stale));
+        repositoryRepository.save(stored(3L, 30, stale));
+        repositoryRepository.save(stored(4L, 40, LocalDateTime.now()));
+        upstreamStars.put(1L, 15);
+        upstreamStars.put(2L, 20);
+        upstreamStars.put(4L, 40);
+
+        // When
+        RepositoryRefreshScheduler.RefreshResult result = refreshScheduler.refreshStaleRepositories();
+
+        // Then
+        assertEquals(new RepositoryRefreshScheduler.RefreshResult(1, 1, 1, 0, 0), result);
+        assertEquals(Set.of(1L, 2L, 3L), requestedIds());
+        assertEquals(15, repositoryRepository.findById(1L).orElseThrow().getStars());
+        LocalDateTime recent = LocalDateTime.now().minusMinutes(1);
+        for (long id = 1; id <= 3; id++) {
+            assertTrue(repositoryRepository.findById(id).orElseThrow().getUpdatedAt().isAfter(recent),
+                    "Repository " + id + " was not marked as refreshed");
+        }
+        assertEquals(0.0, meterRegistry.get("github.refresh.lag").timeGauge().value(TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that a batch is chosen by staleness weighted by popularity
+     * A popular repository overtakes older unpopular ones, and the skipped
+     * repository is reported as refresh lag
+     */
+    @Test
+    public void testRefresh_PrioritizesStaleAndPopularRepositories() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        repositoryRepository.save(stored(1L, 0, now.minusDays(3)));
+        repositoryRepository.save(stored(2L, 100_000, now.minusDays(2)));
+        repositoryRepository.save(stored(3L, 0, now.minusDays(2)));
+        repositoryRepository.save(stored(4L, 50, now.minusDays(1)));
+        for (long id = 1; id <= 4; id++) {
+            upstreamStars.put(id, repositoryRepository.findById(id).orElseThrow().getStars());
+        }
+
+        // When
+        RepositoryRefreshScheduler.RefreshResult result = refreshScheduler.refreshStaleRepositories();
+
+        // Then
+        assertEquals(3, result.unchanged());
+        assertEquals(Set.of(1L, 2L, 4L), requestedIds());
+        double lagSeconds = meterRegistry.get("github.refresh.lag").timeGauge().value(TimeUnit.SECONDS);
+        assertTrue(lagSeconds > TimeUnit.HOURS.toSeconds(46), "Unexpected refresh lag " + lagSeconds);
+    }
+
+    /**
+     * Test that the refresh defers its calls when the budget is down to the reserve
+     */
+    @Test
+    public void testRefresh_YieldsRateLimitBudgetToSearches() {
+        // Given
+        LocalDateTime stale = LocalDateTime.now().minusDays(2);
+        repositoryRepository.save(stored(1L, 10, stale));
+        repositoryRepository.save(stored(2L, 20, stale));
+        upstreamStars.put(1L, 15);
+        upstreamStars.put(2L, 25);
+        rateLimiter.update(rateLimitHeaders(10));
+
+        // When
+        RepositoryRefreshScheduler.RefreshResult result = refreshScheduler.refreshStaleRepositories();
+
+        // Then
+        assertEquals(new RepositoryRefreshScheduler.RefreshResult(0, 0, 0, 0, 2), result);
+        assertEquals(0, stubServer.getRequestCount());
+        assertEquals(10, repositoryRepository.findById(1L).orElseThrow().getStars());
+    }
+
+    /**
+     * Test that a core rate limit rejection defers the rest of the batch
+     * Verifies that the next batch is deferred as a whole while Retry-After
+     * is in effect, instead of failing again without backoff
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void testRefresh_BacksOffAfterCoreRateLimit() {
+        // Given
+        LocalDateTime stale = LocalDateTime.now().minusDays(2);
+        for (long id = 1; id <= 3; id++) {
+            repositoryRepository.save(stored(id, 10, stale));
+            upstreamStars.put(id, 15);
+        }
+        stubServer.setResponder(request -> StubResponse.status(429).withHeader(HttpHeaders.RETRY_AFTER, "60"));
+
+        // When
+        RepositoryRefreshScheduler.RefreshResult first = refreshScheduler.refreshStaleRepositories();
+        RepositoryRefreshScheduler.RefreshResult second = refreshScheduler.refreshStaleRepositories();
+
+        // Then
+        assertEquals(new RepositoryRefreshScheduler.RefreshResult(0, 0, 0, 2, 1), first);
+        assertEquals(new RepositoryRefreshScheduler.RefreshResult(0, 0, 0, 0, 3), second);
+        assertEquals(2, stubServer.getRequestCount());
+        assertFalse(rateLimiter.hasCoreBudget(10));
+    }
+
+    private StubResponse respond(RecordedRequest request) {
+        long id = Long.parseLong(request.path().substring(request.path().lastIndexOf('/') + 1));
+        Integer stars = upstreamStars.get(id);
+        return stars != null
+                ? StubResponse.ok(StubGitHubServer.repositoryJson(id, stars))
+                : StubResponse.status(404);
+    }
+
+    private Set<Long> requestedIds() {
+        return stubServer.getRequests().stream()
+                .map(request -> Long.parseLong(request.path().substring(request.path().lastIndexOf('/') + 1)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Build a stored row matching StubGitHubServer.repositoryJson for the given stars
+     */
+    private Repository stored(Long id, int stars, LocalDateTime updatedAt) {
+        Repository repository = new Repository(id, "repo-" + id, "Repository " + id,
+                "owner" + id, "Java", stars, stars / 2, GITHUB_UPDATED_AT);
+        repository.setUpdatedAt(updatedAt);
+        return repository;
+    }
+
+    private HttpHeaders rateLimitHeaders(int remaining) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(3600).getEpochSecond()));
+        return headers;
+    }
+}
@@ -0,0 +1,190 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the Hibernate second-level cache on repeated reads by id
+ * The same repositories are read with the entity region emptied before each
+ * read and with it warm; statements are counted with Hibernate statistics,
+ * which this context enables. The caches are off by default, so this
+ * context enables them and starts every test from empty regions
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class RepositorySecondLevelCacheBenchmarkTest {
+
+    private static final int ITEMS = 30;
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RepositoryExportService exportService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repositoryRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Test that reads by id are served from a warm entity region
+     * Verifies one SELECT per read when the region is emptied first and none
+     * when it is warm, and that region hits are published as hibernate.* metrics
+     */
+    @Test
+    public void testFindById_IssuesNoSelectWithWarmRegion() {
+        // Given
+        persistenceService.upsertAll(LongStream.rangeClosed(1, ITEMS)
+                .mapToObj(id -> repository(id, (int) id))
+                .toList());
+
+        // When
+        statistics.clear();
+        for (long id = 1; id <= ITEMS; id++) {
+            entityManagerFactory.getCache().evictAll();
+            assertTrue(repositoryRepository.findById(id).isPresent());
+        }
+        long uncachedStatements = statistics.getPrepareStatementCount();
+
+        LongStream.rangeClosed(1, ITEMS).forEach(repositoryRepository::findById);
+        statistics.clear();
+        for (long id = 1; id <= ITEMS; id++) {
+            assertTrue(repositoryRepository.findById(id).isPresent());
+        }
+        long cachedStatements = statistics.getPrepareStatementCount();
+        long regionHits = statistics.getDomainDataRegionStatistics("repositories").getHitCount();
+
+        // Then
+        assertEquals(ITEMS, uncachedStatements);
+        assertEquals(0, cachedStatements);
+        assertEquals(ITEMS, regionHits);
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "repositories")
+                .tag("result", "hit")
+                .functionCounter()
+                .count() > 0);
+    }
+
+    /**
+     * Test that the upsert compares against the database, not the entity region
+     * A write made behind Hibernate's back, as by another instance, leaves the
+     * region stale; an upsert trusting it would find the row unchanged and
+     * skip the UPDATE
+     */
+    @Test
+    public void testUpsertAll_IgnoresStaleEntityRegion() {
+        // Given
+        persistenceService.upsertAll(List.of(repository(1L, 10)));
+        repositoryRepository.findById(1L);
+        jdbcTemplate.update("UPDATE repositories SET stars = 20 WHERE id = 1");
+
+        // When
+        RepositoryPersistenceService.UpsertResult result = persistenceService.upsertAll(List.of(repository(1L, 10)));
+
+        // Then
+        assertEquals(1, result.updated());
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT stars FROM repositories WHERE id = 1", Integer.class));
+    }
+
+    /**
+     * Test that committed writes keep the entity and query regions correct
+     * Verifies that a repeated cacheable finder is answered from the query
+     * cache, and that an upsert updates the cached row and discards the cached
+     * query result so both reflect the new star count
+     */
+    @Test
+    public void testWrites_InvalidateEntityAndQueryRegions() {
+        // Given
+        persistenceService.upsertAll(List.of(repository(1L, 10), repository(2L, 20), repository(3L, 30)));
+        repositoryRepository.findByLanguage("Java");
+        statistics.clear();
+
+        List<Repository> cached = repositoryRepository.findByLanguage("Java");
+        assertEquals(3, cached.size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // When
+        persistenceService.upsertAll(List.of(repository(1L, 500)));
+        statistics.clear();
+        List<Repository> reloaded = repositoryRepository.findByStarsGreaterThanEqual(100);
+        List<Repository> java = repositoryRepository.findByLanguage("Java");
+        Repository updated = repositoryRepository.findById(1L).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L), reloaded.stream().map(Repository::getId).toList());
+        assertEquals(3, java.size());
+        assertEquals(500, java.stream().filter(r -> r.getId() == 1L).findFirst().orElseThrow().getStars());
+        assertEquals(500, updated.getStars());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test that exporting the whole table leaves the entity region alone
+     * Verifies that bulk reads such as the export and the index warm-up do not
+     * put every row into the region and evict its hot entries
+     */
+    @Test
+    public void testExport_BypassesEntityRegion() throws IOException {
+        // Given
+        persistenceService.upsertAll(LongStream.rangeClosed(1, ITEMS)
+                .mapToObj(id -> repository(id, (int) id))
+                .toList());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // When
+        long streamed = exportService.export(OutputStream.nullOutputStream(), "ndjson");
+
+        // Then
+        assertEquals(ITEMS, streamed);
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+        assertFalse(entityManagerFactory.getCache().contains(Repository.class, 1L));
+    }
+
+    private Repository repository(Long id, int stars) {
+        return new Repository(id, "repo" + id, null, "owner" + id, "Java", stars, 1,
+                LocalDateTime.of(2025, 7, 1, 0, 0));
+    }
+}
@@ -0,0 +1,88 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.repository.RepositoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for concurrent upserts of overlapping repositories
+ * Each upsert runs in its own transaction, as it does for searches
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class RepositoryUpsertConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int REPOSITORIES = 20;
+
+    @Autowired
+    private RepositoryPersistenceService persistenceService;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        repositoryRepository.deleteAll();
+    }
+
+    /**
+     * Test that concurrent upserts inserting the same new ids all succeed
+     * Verifies that writers losing the insert race retry as updates instead
+     * of failing on the primary key
+     */
+    @Test
+    public void testUpsertAll_ConcurrentInsertsOfSameIds() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RepositoryPersistenceService.UpsertResult>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int stars = writer;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return persistenceService.upsertAll(repositories(stars));
+                }));
+            }
+            start.countDown();
+
+            // Then
+            int inserted = 0;
+            for (Future<RepositoryPersistenceService.UpsertResult> result : results) {
+                RepositoryPersistenceService.UpsertResult upsert = result.get();
+                assertEquals(REPOSITORIES, upsert.repositories().size());
+                inserted += upsert.inserted();
+            }
+            assertEquals(REPOSITORIES, inserted);
+            assertEquals(REPOSITORIES, repositoryRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Repository> repositories(int stars) {
+        List<Repository> repositories = new ArrayList<>();
+        for (long id = 1; id <= REPOSITORIES; id++) {
+            repositories.add(new Repository(id, "repo" + id, null, "owner" + id, "Java", stars, 1,
+                    LocalDateTime.of(2025, 7, 1, 0, 0)));
+        }
+        return repositories;
+    }
+}
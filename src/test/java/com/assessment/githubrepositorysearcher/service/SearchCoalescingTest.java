@@ -0,0 +1,140 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.dto.SearchRequest;
+import com.assessment.githubrepositorysearcher.dto.SearchResponse;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer;
+import com.assessment.githubrepositorysearcher.support.StubGitHubServer.StubResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Concurrency tests for single-flight GitHub searches
+ * The stub answers slowly so that simultaneous callers overlap in flight
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SearchCoalescingTest {
+
+    private static final int CALLERS = 10;
+
+    private static final StubGitHubServer stubServer = StubGitHubServer.start();
+
+    @Autowired
+    private GitHubService gitHubService;
+
+    @SpyBean
+    private RepositoryPersistenceService persistenceService;
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", stubServer::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        stubServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stubServer.reset();
+        stubServer.setDelayMillis(500);
+        stubServer.setResponder(request -> StubResponse.ok(StubGitHubServer.searchResponseJson(1L, 2L, 3L)));
+        clearInvocations(persistenceService);
+    }
+
+    /**
+     * Test that simultaneous identical searches produce exactly one upstream request
+     * Verifies every caller receives the same response from one persistence pass
+     */
+    @Test
+    public void testSearch_ConcurrentDuplicatesShareOneUpstreamCall() throws Exception {
+        // When
+        List<SearchResponse> responses = runConcurrently(caller -> {
+            // Equivalent requests differing only in case and whitespace
+            SearchRequest request = caller % 2 == 0
+                    ? new SearchRequest("coalescing-test", "Java", "stars")
+                    : new SearchRequest(" coalescing-test ", "java", "STARS");
+            return gitHubService.searchAndSaveRepositories(request);
+        });
+
+        // Then
+        assertEquals(1, stubServer.getRequestCount());
+        verify(persistenceService, times(1)).upsertAll(anyList());
+        responses.forEach(response -> assertSame(responses.get(0), response));
+        assertEquals(3, responses.get(0).getRepositories().size());
+    }
+
+    /**
+     * Test that different searches are not coalesced
+     */
+    @Test
+    public void testSearch_DistinctRequestsRunSeparately() throws Exception {
+        // When
+        runConcurrently(caller -> gitHubService.searchAndSaveRepositories(
+                new SearchRequest("coalescing-test-" + (caller % 2), "Java", "stars")));
+
+        // Then
+        assertEquals(2, stubServer.getRequestCount());
+    }
+
+    /**
+     * Test that a completed search is not reused by later callers
+     */
+    @Test
+    public void testSearch_SequentialSearchesGoUpstreamAgain() {
+        // Given
+        stubServer.setDelayMillis(0);
+        SearchRequest request = new SearchRequest("sequential-test", "Java", "stars");
+
+        // When
+        gitHubService.searchAndSaveRepositories(request);
+        gitHubService.searchAndSaveRepositories(request);
+
+        // Then
+        assertEquals(2, stubServer.getRequestCount());
+    }
+
+    private List<SearchResponse> runConcurrently(Function<Integer, SearchResponse> search) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SearchResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                int caller = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return search.apply(caller);
+                }));
+            }
+
+            start.countDown();
+
+            List<SearchResponse> responses = new ArrayList<>();
+            for (Future<SearchResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
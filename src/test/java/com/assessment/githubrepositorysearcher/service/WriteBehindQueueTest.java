@@ -0,0 +1,229 @@
+package com.assessment.githubrepositorysearcher.service;
+
+import com.assessment.githubrepositorysearcher.entity.Repository;
+import com.assessment.githubrepositorysearcher.event.RepositoriesChangedEvent.Source;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindQueueTest {
+
+    @Mock
+    private RepositoryPersistenceService persistenceService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GitHubResponseCache responseCache = new GitHubResponseCache(10, meterRegistry);
+
+    private WriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    /**
+     * Test that pending writes to the same repository are coalesced
+     * Verifies only the latest version is written, at its original position
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnqueue_CoalescesById() {
+        // Given
+        queue = newQueue(100, 10, Duration.ofMinutes(1));
+        queue.start();
+
+        // When
+        queue.enqueue(List.of(repository(1L, 10), repository(2L, 20)));
+        queue.enqueue(List.of(repository(1L, 15)));
+        queue.stop();
+
+        // Then
+        ArgumentCaptor<List<Repository>> captor = ArgumentCaptor.forClass(List.class);
+        verify(persistenceService, times(1)).upsertAll(captor.capture(), eq(Source.WRITE_BEHIND));
+        List<Repository> written = captor.getValue();
+        assertEquals(List.of(1L, 2L), written.stream().map(Repository::getId).toList());
+        assertEquals(15, written.get(0).getStars());
+        assertEquals(1.0, meterRegistry.get("github.persistence.write-behind.coalesced").counter().count());
+    }
+
+    /**
+     * Test that the worker writes full batches without waiting for the flush interval
+     */
+    @Test
+    public void testWorker_WritesFullBatches() throws Exception {
+        // Given
+        CountDownLatch written = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            written.countDown();
+            return null;
+        }).when(persistenceService).upsertAll(anyList(), eq(Source.WRITE_BEHIND));
+        queue = newQueue(100, 2, Duration.ofMinutes(1));
+        queue.start();
+
+        // When
+        queue.enqueue(List.of(repository(1L, 1), repository(2L, 2), repository(3L, 3),
+                repository(4L, 4), repository(5L, 5), repository(6L, 6)));
+
+        // Then
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.getQueueDepth());
+        assertEquals(0.0, meterRegistry.get("github.persistence.write-behind.queue.depth").gauge().value());
+    }
+
+    /**
+     * Test that a full queue pushes back and then writes the overflow on the caller
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnqueue_FullQueueRunsOnCaller() {
+        // Given
+        queue = newQueue(2, 10, Duration.ofMinutes(1));
+        queue.start();
+
+        // When
+        queue.enqueue(List.of(repository(1L, 1), repository(2L, 2), repository(3L, 3)));
+
+        // Then
+        ArgumentCaptor<List<Repository>> captor = ArgumentCaptor.forClass(List.class);
+        verify(persistenceService, times(1)).upsertAll(captor.capture(), eq(Source.WRITE_BEHIND));
+        assertEquals(List.of(3L), captor.getValue().stream().map(Repository::getId).toList());
+        assertEquals(2, queue.getQueueDepth());
+        assertEquals(1.0, meterRegistry.get("github.persistence.write-behind.caller.runs").counter().count());
+    }
+
+    /**
+     * Test that writes are synchronous while the worker is not running
+     */
+    @Test
+    public void testEnqueue_WritesDirectlyWhenStopped() {
+        // Given
+        queue = newQueue(100, 10, Duration.ofMinutes(1));
+        List<Repository> repositories = List.of(repository(1L, 1));
+
+        // When
+        queue.enqueue(repositories);
+
+        // Then
+        verify(persistenceService).upsertAll(repositories, Source.WRITE_BEHIND);
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    /**
+     * Test that a batch failing every attempt is counted, dropped and does not
+     * stop the worker
+     * Verifies that stored GitHub validators are forgotten with the dropped rows
+     */
+    @Test
+    public void testFlush_CountsFailedWrites() {
+        // Given
+        when(persistenceService.upsertAll(anyList(), eq(Source.WRITE_BEHIND))).thenThrow(new RuntimeException("Failed to save repositories"));
+        responseCache.put("https://api.github.com/search/repositories?q=java", "\"v1\"", null,
+                GitHubSearchDecoder.SearchPage.EMPTY);
+        queue = newQueue(100, 10, Duration.ofMinutes(1));
+        queue.start();
+        queue.enqueue(List.of(repository(1L, 1), repository(2L, 2)));
+
+        // When
+        queue.stop();
+
+        // Then
+        verify(persistenceService, times(3)).upsertAll(anyList(), eq(Source.WRITE_BEHIND));
+        assertEquals(2.0, meterRegistry.get("github.persistence.write-behind.failed").counter().count());
+        assertEquals(0, queue.getQueueDepth());
+        assertNull(responseCache.get("https://api.github.com/search/repositories?q=java"));
+    }
+
+    /**
+     * Test that a batch failing once is retried and written
+     */
+    @Test
+    public void testFlush_RetriesFailedWrite() {
+        // Given
+        when(persistenceService.upsertAll(anyList(), eq(Source.WRITE_BEHIND)))
+                .thenThrow(new RuntimeException("Failed to save repositories"))
+                .thenReturn(null);
+        queue = newQueue(100, 10, Duration.ofMinutes(1));
+        queue.start();
+        queue.enqueue(List.of(repository(1L, 1), repository(2L, 2)));
+
+        // When
+        queue.stop();
+
+        // Then
+        verify(persistenceService, times(2)).upsertAll(anyList(), eq(Source.WRITE_BEHIND));
+        assertEquals(0.0, meterRegistry.get("github.persistence.write-behind.failed").counter().count());
+    }
+
+    /**
+     * Test that overflow written by a caller waits for the worker's write
+     * Verifies that writes never overlap and reach the database in the order
+     * their rows left the queue, so the newer version of a row is written last
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnqueue_CallerRunsWaitsForWorker() throws Exception {
+        // Given
+        CountDownLatch workerWriting = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (workerWriting.getCount() > 0) {
+                workerWriting.countDown();
+                releaseWorker.await();
+            }
+            return null;
+        }).when(persistenceService).upsertAll(anyList(), eq(Source.WRITE_BEHIND));
+        queue = newQueue(1, 1, Duration.ofMillis(10));
+        queue.start();
+        queue.enqueue(List.of(repository(1L, 1)));
+        assertTrue(workerWriting.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread caller = Thread.ofPlatform().start(() ->
+                queue.enqueue(List.of(repository(1L, 2), repository(2L, 2), repository(3L, 3))));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(Thread.State.WAITING, caller.getState());
+        verify(persistenceService, times(1)).upsertAll(anyList(), eq(Source.WRITE_BEHIND));
+        releaseWorker.countDown();
+        caller.join(5_000);
+        queue.stop();
+
+        // Then
+        ArgumentCaptor<List<Repository>> captor = ArgumentCaptor.forClass(List.class);
+        verify(persistenceService, times(3)).upsertAll(captor.capture(), eq(Source.WRITE_BEHIND));
+        List<List<Repository>> writes = captor.getAllValues();
+        assertEquals(List.of(1L), writes.get(0).stream().map(Repository::getId).toList());
+        assertEquals(List.of(2L, 3L), writes.get(1).stream().map(Repository::getId).toList());
+        assertEquals(List.of(1L), writes.get(2).stream().map(Repository::getId).toList());
+        assertEquals(2, writes.get(2).get(0).getStars());
+    }
+
+    private WriteBehindQueue newQueue(int capacity, int batchSize, Duration flushInterval) {
+        return new WriteBehindQueue(persistenceService, responseCache, meterRegistry, true,
+                capacity, batchSize, flushInterval, Duration.ofMillis(100));
+    }
+
+    private Repository repository(Long id, int stars) {
+        return new Repository(id, "repo" + id, null, "owner" + id, "Java", stars, 0, LocalDateTime.now());
+    }
+}
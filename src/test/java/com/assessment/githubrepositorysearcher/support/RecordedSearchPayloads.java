@@ -0,0 +1,53 @@
+package com.assessment.githubrepositorysearcher.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Full size GitHub search response bodies built from a recorded search item
+ * Every item carries all fields GitHub sends (owner profile, URLs, license,
+ * topics), not just the ones the service reads
+ */
+public final class RecordedSearchPayloads {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectNode RECORDED_ITEM = loadRecordedItem();
+
+    private RecordedSearchPayloads() {
+    }
+
+    /**
+     * Build a search response body with the given number of distinct items
+     */
+    public static byte[] searchResponse(int itemCount) {
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.put("total_count", itemCount);
+        response.put("incomplete_results", false);
+        ArrayNode items = response.putArray("items");
+        for (int i = 1; i <= itemCount; i++) {
+            ObjectNode item = RECORDED_ITEM.deepCopy();
+            item.put("id", i);
+            item.put("name", "spring-boot-" + i);
+            item.put("stargazers_count", 100_000 - i);
+            item.put("forks_count", 50_000 - i);
+            items.add(item);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to build search payload: " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectNode loadRecordedItem() {
+        try (InputStream inputStream = RecordedSearchPayloads.class.getResourceAsStream("/github/search-item.json")) {
+            return (ObjectNode) OBJECT_MAPPER.readTree(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load recorded search item: " + e.getMessage(), e);
+        }
+    }
+}
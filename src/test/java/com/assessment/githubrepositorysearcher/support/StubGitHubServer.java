@@ -0,0 +1,207 @@
+package com.assessment.githubrepositorysearcher.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for the GitHub REST API used by integration tests
+ * Serves canned search responses from the JDK HTTP server, records every
+ * request and tracks how many requests were in flight at the same time
+ */
+public class StubGitHubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Queue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private volatile long delayMillis;
+    private volatile Function<RecordedRequest, StubResponse> responder =
+            request -> StubResponse.ok(searchResponseJson(1L, 2L, 3L));
+
+    private StubGitHubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Start a stub server on a random local port
+     */
+    public static StubGitHubServer start() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            StubGitHubServer stub = new StubGitHubServer(httpServer);
+            httpServer.createContext("/", stub::handle);
+            httpServer.setExecutor(stub.executor);
+            httpServer.start();
+            return stub;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start stub GitHub server: " + e.getMessage(), e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public void setResponder(Function<RecordedRequest, StubResponse> responder) {
+        this.responder = responder;
+    }
+
+    public List<RecordedRequest> getRequests() {
+        return new ArrayList<>(requests);
+    }
+
+    public int getRequestCount() {
+        return requests.size();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Forget recorded requests and concurrency peaks between tests
+     */
+    public void reset() {
+        requests.clear();
+        maxInFlight.set(0);
+        delayMillis = 0;
+        responder = request -> StubResponse.ok(searchResponseJson(1L, 2L, 3L));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Map<String, String> headers = new LinkedHashMap<>();
+            exchange.getRequestHeaders().forEach((name, values) ->
+                    headers.put(name.toLowerCase(), values.isEmpty() ? "" : values.get(0)));
+            RecordedRequest request = new RecordedRequest(
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestURI().getRawQuery(),
+                    headers);
+            requests.add(request);
+
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            StubResponse response = responder.apply(request);
+            response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            byte[] body = response.body() == null ? new byte[0] : response.body().getBytes(StandardCharsets.UTF_8);
+            if (body.length > 0) {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(response.status(), body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } else {
+                exchange.sendResponseHeaders(response.status(), -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    /**
+     * Build a GitHub search response body containing the given repository ids
+     */
+    public static String searchResponseJson(long... ids) {
+        StringBuilder items = new StringBuilder();
+        for (long id : ids) {
+            if (items.length() > 0) {
+                items.append(',');
+            }
+            items.append(repositoryJson(id, (int) id * 10));
+        }
+        return "{\"total_count\":" + ids.length + ",\"incomplete_results\":false,\"items\":[" + items + "]}";
+    }
+
+    /**
+     * Build a single GitHub repository object
+     */
+    public static String repositoryJson(long id, int stars) {
+        return "{\"id\":" + id
+                + ",\"name\":\"repo-" + id + "\""
+                + ",\"description\":\"Repository " + id + "\""
+                + ",\"language\":\"Java\""
+                + ",\"stargazers_count\":" + stars
+                + ",\"forks_count\":" + (stars / 2)
+                + ",\"updated_at\":\"2025-07-08T16:34:27Z\""
+                + ",\"owner\":{\"login\":\"owner" + id + "\"}}";
+    }
+
+    /**
+     * Request received by the stub, with lower-cased header names
+     */
+    public record RecordedRequest(String path, String query, Map<String, String> headers) {
+
+        public String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        /**
+         * Read a single query parameter value, or null when absent
+         */
+        public String queryParam(String name) {
+            if (query == null) {
+                return null;
+            }
+            for (String pair : query.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                    return pair.substring(separator + 1);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Canned response returned by the stub
+     */
+    public record StubResponse(int status, Map<String, String> headers, String body) {
+
+        public static StubResponse ok(String body) {
+            return new StubResponse(200, Map.of(), body);
+        }
+
+        public static StubResponse status(int status) {
+            return new StubResponse(status, Map.of(), null);
+        }
+
+        public StubResponse withHeader(String name, String value) {
+            Map<String, String> copy = new LinkedHashMap<>(headers);
+            copy.put(name, value);
+            return new StubResponse(status, copy, body);
+        }
+    }
+}
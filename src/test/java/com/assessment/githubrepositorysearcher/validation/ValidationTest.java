@@ -63,4 +63,18 @@ public class ValidationTest {
 
         assertFalse(violations.isEmpty());
     }
+
+    /**
+     * Test that maxResults above GitHub's 1000 result cap triggers validation error
+     * Verifies @Max constraint on maxResults field works correctly
+     */
+    @Test
+    public void testMaxResultsAboveLimit() {
+        SearchRequest request = new SearchRequest("spring boot", "Java", "stars");
+        request.setMaxResults(1001);
+
+        Set<ConstraintViolation<SearchRequest>> violations = validator.validate(request);
+
+        assertFalse(violations.isEmpty());
+    }
 }
\ No newline at end of file